@@ -0,0 +1,109 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for reading grant requests and writing grant and introspection responses, with the plain
+ * ObjectMapper the server used before and with the shared readers and writers of the configured mapper, which
+ * the rate limit filter and the GNAP response converter use.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=JsonCodecsBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecsBenchmark {
+
+    private static final byte[] GRANT_REQUEST = """
+            {"access_token": [{"label": "photos", "access": [{"type": "photo-api", "actions": ["read", "write"],
+             "locations": ["https://rs.example.com/photos"]}]}],
+             "client": {"key": {"proof": "httpsig", "jwk": {"kty": "EC", "crv": "P-256",
+             "x": "f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU", "y": "x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0"}},
+             "kid": "client-key"},
+             "interact": {"finish": {"method": "redirect", "uri": "https://client.example.com/callback"}}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper plainMapper;
+    private JsonCodecs jsonCodecs;
+    private GrantResponse grantResponse;
+    private AccessTokenResponse introspection;
+
+    @Setup
+    public void setUp() {
+        plainMapper = new ObjectMapper();
+        plainMapper.registerModule(new JavaTimeModule());
+        plainMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JacksonConfig config = new JacksonConfig();
+        StreamReadConstraints constraints = config.streamReadConstraints(DataSize.ofMegabytes(1), 65536, 32);
+        jsonCodecs = config.jsonCodecs(config.objectMapper(constraints), config.cborMapper(constraints));
+
+        Resource resource = new Resource();
+        resource.setType("photo-api");
+        resource.setActionsList(List.of("read", "write"));
+        resource.setLocationsList(List.of("https://rs.example.com/photos"));
+        resource.setResourceServer("https://rs.example.com");
+        AccessToken accessToken = new AccessToken();
+        accessToken.setTokenValue("eyJhbGciOiJIUzI1NiJ9." + UUID.randomUUID() + "." + UUID.randomUUID());
+        accessToken.setExpiresAt(LocalDateTime.now().plusHours(1));
+        accessToken.setAccess(List.of(resource));
+        UUID grantId = UUID.randomUUID();
+        grantResponse = new GrantResponse(grantId,
+                new GrantResponse.Continue("/gnap/grant/" + grantId, UUID.randomUUID().toString(), 5),
+                null, List.of(AccessTokenResponse.from(accessToken)));
+
+        AccessToken introspected = new AccessToken();
+        introspected.setExpiresAt(LocalDateTime.now().plusHours(1));
+        introspected.setAccess(List.of(resource));
+        introspected.setParameters(Map.of("active", true, "key", "client-key"));
+        introspection = AccessTokenResponse.from(introspected);
+    }
+
+    @Benchmark
+    public GrantRequest readGrantRequestPlain() throws Exception {
+        return plainMapper.readValue(GRANT_REQUEST, GrantRequest.class);
+    }
+
+    @Benchmark
+    public GrantRequest readGrantRequestShared() throws Exception {
+        return jsonCodecs.grantRequestReader().readValue(GRANT_REQUEST);
+    }
+
+    @Benchmark
+    public byte[] writeGrantResponsePlain() throws Exception {
+        return plainMapper.writeValueAsBytes(grantResponse);
+    }
+
+    @Benchmark
+    public byte[] writeGrantResponseShared() throws Exception {
+        return jsonCodecs.grantResponseWriter().writeValueAsBytes(grantResponse);
+    }
+
+    @Benchmark
+    public byte[] writeIntrospectionPlain() throws Exception {
+        return plainMapper.writeValueAsBytes(introspection);
+    }
+
+    @Benchmark
+    public byte[] writeIntrospectionShared() throws Exception {
+        return jsonCodecs.accessTokenResponseWriter().writeValueAsBytes(introspection);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.gnap.as.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.service.LogRedaction;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the per-request logging cost of a grant request followed by a token introspection.
+ * The legacy benchmarks emit the INFO lines the controllers and InteractionService used to write for that
+ * flow, including the grant request and the plain token, and the SQL statements of the flow as
+ * spring.jpa.show-sql with format_sql printed them: pretty-printed and written synchronously to stdout,
+ * bypassing the appenders. The sampled benchmark emits the DEBUG lines that replaced them, which are
+ * disabled at the default level, and one request log line per request, with SQL logging off.
+ * Events and statements are formatted as in production and written to a discarding stream, so the cost of
+ * the console itself is left out.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=RequestLoggingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1234 --- [gnap-as] [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"0.05", "1.0"})
+    public double sampleRate;
+
+    private final Logger syncLog = LoggerFactory.getLogger("com.example.gnap.as.benchmark.sync");
+    private final Logger asyncLog = LoggerFactory.getLogger("com.example.gnap.as.benchmark.async");
+
+    private static final String[] FLOW_SQL = {
+            "select c1_0.id,c1_0.display_name,c1_0.instance_id,c1_0.key_id,c1_0.key_jwk,c1_0.proof_method "
+                    + "from client c1_0 where c1_0.key_id=?",
+            "select ci1_0.id,ci1_0.client_id,ci1_0.continuation_rate_burst,ci1_0.continuation_rate_limit,"
+                    + "ci1_0.grant_rate_burst,ci1_0.grant_rate_limit from client_information ci1_0 where ci1_0.client_id=?",
+            "select ad1_0.id,ad1_0.actions,ad1_0.data_types,ad1_0.hash,ad1_0.locations,ad1_0.resource_server,"
+                    + "ad1_0.type from access_definition ad1_0 where ad1_0.hash=?",
+            "insert into grant_request (client_id,created_at,expires_at,redirect_uri,status,updated_at,user_id,id) "
+                    + "values (?,?,?,?,?,?,?,?)",
+            "insert into resource (access_definition_id,grant_id,id) values (?,?,?)",
+            "insert into interaction (expires_at,grant_id,hash_method,interaction_type,interaction_url,nonce,"
+                    + "user_code,created_at,updated_at,id) values (?,?,?,?,?,?,?,?,?,?)",
+            "insert into interaction (expires_at,grant_id,hash_method,interaction_type,interaction_url,nonce,"
+                    + "user_code,created_at,updated_at,id) values (?,?,?,?,?,?,?,?,?,?)",
+            "select at1_0.id,at1_0.created_at,at1_0.expires_at,at1_0.grant_id,at1_0.revoked,at1_0.token_value "
+                    + "from access_token at1_0 where at1_0.token_value=?"
+    };
+
+    private final PrintStream stdout = new PrintStream(OutputStream.nullOutputStream());
+
+    private LoggerContext context;
+    private RequestLog requestLog;
+    private GrantRequest grant;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        Appender<ILoggingEvent> console = discardingConsole("SYNC");
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(discardingConsole("ASYNC_CONSOLE"));
+        async.start();
+
+        attach("com.example.gnap.as.benchmark.sync", console);
+        attach("com.example.gnap.as.benchmark.async", async);
+        attach("com.example.gnap.as.request", async);
+
+        requestLog = new RequestLog(sampleRate, Duration.ofMillis(500));
+
+        grant = new GrantRequest();
+        grant.setStatus(GrantRequest.GrantStatus.PENDING);
+        grant.setRedirectUri("https://client.example.com/callback");
+        grant.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        token = "eyJhbGciOiJIUzI1NiJ9." + UUID.randomUUID() + "." + UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.reset();
+    }
+
+    /**
+     * The previous logging on synchronous console appending.
+     */
+    @Benchmark
+    public void legacySynchronous() {
+        legacy(syncLog);
+    }
+
+    /**
+     * The previous logging on the asynchronous appender, isolating the effect of the log statements and SQL.
+     */
+    @Benchmark
+    public void legacyAsynchronous() {
+        legacy(asyncLog);
+    }
+
+    /**
+     * The current logging: disabled DEBUG lines and the sampled request log.
+     */
+    @Benchmark
+    public void sampledAsynchronous() {
+        asyncLog.debug("Received grant request");
+        asyncLog.debug("Creating interactions for grant request - interaction types requested: redirect={}, app={}, userCode={}",
+                true, false, true);
+        asyncLog.debug("Successfully created {} interactions", 2);
+        asyncLog.debug("Building interaction response from {} interactions", 2);
+        asyncLog.debug("Completed building interaction response with redirect={}, app={}, userCode={}, finish={}",
+                true, false, true, true);
+        requestLog.record("POST", "/gnap/grant", 201, 4_000_000L);
+
+        asyncLog.debug("Received token introspection request for token: {}", LogRedaction.token(token));
+        requestLog.record("POST", "/gnap/token/introspect", 200, 1_000_000L);
+    }
+
+    private void legacy(Logger log) {
+        for (String sql : FLOW_SQL) {
+            stdout.println("Hibernate: " + FormatStyle.BASIC.getFormatter().format(sql));
+        }
+
+        log.info("Received grant request: {}", grant);
+        log.info("Creating interactions for grant request - interaction types requested: redirect={}, app={}, userCode={}",
+                true, false, true);
+        log.info("Successfully created {} interactions", 2);
+        log.info("Building interaction response from {} interactions", 2);
+        log.info("Completed building interaction response with redirect={}, app={}, userCode={}, finish={}",
+                true, false, true, true);
+
+        log.info("Received token introspection request for token: {}", token);
+    }
+
+    private Appender<ILoggingEvent> discardingConsole(String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private void attach(String name, Appender<ILoggingEvent> appender) {
+        ch.qos.logback.classic.Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+}
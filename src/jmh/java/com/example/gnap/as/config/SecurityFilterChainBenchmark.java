@@ -0,0 +1,108 @@
+package com.example.gnap.as.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the Spring Security filter chains of the servlet stack.
+ * Each benchmark runs one request through the security filters of SecurityConfig, ending in a no-op servlet,
+ * so the time and allocation are those of security alone: an introspection call and a grant request on the
+ * stateless API chain, and an interaction page on the session-aware chain. The baseline runs the introspection
+ * request through the servlet alone, for the cost of the mock request and response. Sample mode reports
+ * percentiles, which are steadier than averages on small machines.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=SecurityFilterChainBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterChainBenchmark {
+
+    private static final FilterChain SERVLET = (request, response) ->
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_OK);
+
+    private AnnotationConfigWebApplicationContext context;
+    private FilterChainProxy filterChainProxy;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(BenchmarkSecurityConfig.class);
+        context.refresh();
+        filterChainProxy = context.getBean(FilterChainProxy.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gnap/token/introspect");
+        request.setParameter("token", "eyJhbGciOiJIUzI1NiJ9.e30.signature");
+        request.setServletPath(request.getRequestURI());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        SERVLET.doFilter(request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse introspect() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gnap/token/introspect");
+        request.setParameter("token", "eyJhbGciOiJIUzI1NiJ9.e30.signature");
+        return filter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse grant() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gnap/grant");
+        request.setContentType("application/json");
+        request.setContent("{\"access_token\":{\"access\":[\"read\"]}}".getBytes());
+        return filter(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse interaction() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/gnap/interact/redirect/0190b6a4-7d2c-7c1e-8f3a-2b9e4d5c6a7f"));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        request.setServletPath(request.getRequestURI());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, SERVLET);
+        return response;
+    }
+
+    /**
+     * SecurityConfig with the Spring MVC infrastructure and operator user that Spring Boot would otherwise configure.
+     */
+    @Configuration
+    @Import(SecurityConfig.class)
+    @EnableWebMvc
+    static class BenchmarkSecurityConfig {
+
+        @Bean
+        UserDetailsService userDetailsService() {
+            return new InMemoryUserDetailsManager(User.withUsername("operator").password("{noop}password").build());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.config.JacksonConfig;
+import com.example.gnap.as.config.JsonCodecs;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for encoding and decoding grant requests and introspection responses as JSON and as CBOR,
+ * with the mappers the server is configured with. The payload sizes are printed at setup.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=CborSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CborSerializationBenchmark {
+
+    private static final String GRANT_REQUEST = """
+            {"access_token": [{"label": "photos", "access": [{"type": "photo-api", "actions": ["read", "write"],
+             "locations": ["https://rs.example.com/photos"]}]}],
+             "client": {"key": {"proof": "httpsig", "jwk": {"kty": "EC", "crv": "P-256",
+             "x": "f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU", "y": "x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0"}},
+             "kid": "client-key"},
+             "interact": {"finish": {"method": "redirect", "uri": "https://client.example.com/callback"}}}
+            """;
+
+    private JsonCodecs jsonCodecs;
+    private ObjectWriter jsonIntrospectionWriter;
+    private ObjectWriter cborIntrospectionWriter;
+    private ObjectReader jsonIntrospectionReader;
+    private ObjectReader cborIntrospectionReader;
+    private AccessTokenResponse introspection;
+    private byte[] jsonGrantRequest;
+    private byte[] cborGrantRequest;
+    private byte[] jsonIntrospection;
+    private byte[] cborIntrospection;
+
+    @Setup
+    public void setUp() throws Exception {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper objectMapper = config.objectMapper(StreamReadConstraints.defaults());
+        CBORMapper cborMapper = config.cborMapper(StreamReadConstraints.defaults());
+        jsonCodecs = config.jsonCodecs(objectMapper, cborMapper);
+        jsonIntrospectionWriter = objectMapper.writerFor(AccessTokenResponse.class);
+        cborIntrospectionWriter = cborMapper.writerFor(AccessTokenResponse.class);
+        jsonIntrospectionReader = objectMapper.readerFor(Map.class);
+        cborIntrospectionReader = cborMapper.readerFor(Map.class);
+
+        Resource resource = new Resource();
+        resource.setType("photo-api");
+        resource.setActionsList(List.of("read", "write"));
+        resource.setLocationsList(List.of("https://rs.example.com/photos"));
+        resource.setResourceServer("https://rs.example.com");
+        AccessToken introspected = new AccessToken();
+        introspected.setExpiresAt(LocalDateTime.now().plusHours(1));
+        introspected.setAccess(List.of(resource));
+        introspected.setParameters(Map.of("active", true, "key", "client-key", "sub", UUID.randomUUID().toString()));
+        introspection = AccessTokenResponse.from(introspected);
+
+        jsonGrantRequest = objectMapper.writeValueAsBytes(objectMapper.readTree(GRANT_REQUEST));
+        cborGrantRequest = cborMapper.writeValueAsBytes(objectMapper.readTree(GRANT_REQUEST));
+        jsonIntrospection = jsonIntrospectionWriter.writeValueAsBytes(introspection);
+        cborIntrospection = cborIntrospectionWriter.writeValueAsBytes(introspection);
+        System.out.printf("Grant request: %d bytes JSON, %d bytes CBOR%n", jsonGrantRequest.length, cborGrantRequest.length);
+        System.out.printf("Introspection: %d bytes JSON, %d bytes CBOR%n", jsonIntrospection.length, cborIntrospection.length);
+    }
+
+    @Benchmark
+    public GrantRequest decodeGrantRequestJson() throws Exception {
+        return jsonCodecs.grantRequestReader().readValue(jsonGrantRequest);
+    }
+
+    @Benchmark
+    public GrantRequest decodeGrantRequestCbor() throws Exception {
+        return jsonCodecs.cborGrantRequestReader().readValue(cborGrantRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeIntrospectionJson() throws Exception {
+        return jsonIntrospectionWriter.writeValueAsBytes(introspection);
+    }
+
+    @Benchmark
+    public byte[] encodeIntrospectionCbor() throws Exception {
+        return cborIntrospectionWriter.writeValueAsBytes(introspection);
+    }
+
+    /**
+     * Decoding on the resource server's side, which reads the response as a generic map.
+     */
+    @Benchmark
+    public Map<?, ?> decodeIntrospectionJson() throws Exception {
+        return jsonIntrospectionReader.readValue(jsonIntrospection);
+    }
+
+    @Benchmark
+    public Map<?, ?> decodeIntrospectionCbor() throws Exception {
+        return cborIntrospectionReader.readValue(cborIntrospection);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.config.JacksonConfig;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for building and serializing grant and introspection responses, with the entities as before
+ * and with the response records.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=ResponseSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private GrantRequest grant;
+    private AccessToken introspected;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(StreamReadConstraints.defaults());
+
+        Resource resource = new Resource();
+        resource.setType("photo-api");
+        resource.setActionsList(List.of("read", "write"));
+        resource.setLocationsList(List.of("https://rs.example.com/photos"));
+        resource.setResourceServer("https://rs.example.com");
+        AccessToken accessToken = new AccessToken();
+        accessToken.setTokenValue("eyJhbGciOiJIUzI1NiJ9." + UUID.randomUUID() + "." + UUID.randomUUID());
+        accessToken.setExpiresAt(LocalDateTime.now().plusHours(1));
+        accessToken.setAccess(List.of(resource));
+
+        grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        grant.setStatus(GrantRequest.GrantStatus.APPROVED);
+        grant.setContinueInfo(new GrantRequest.ContinueInfo(
+                "https://as.example.com/gnap/grant/" + grant.getId(), UUID.randomUUID().toString(), 5));
+        grant.setInteractInfo(new GrantRequest.InteractInfo("https://as.example.com/gnap/interact/redirect", null,
+                new Interaction.UserCode("ABCD-1234", null), new Interaction.Finish(null, "sha-256")));
+        grant.setAccessTokenList(List.of(accessToken));
+
+        introspected = new AccessToken();
+        introspected.setExpiresAt(LocalDateTime.now().plusHours(1));
+        introspected.setAccess(List.of(resource));
+        introspected.setParameters(Map.of("active", true, "key", "client-key"));
+    }
+
+    @Benchmark
+    public byte[] grantEntity() throws Exception {
+        GrantRequest response = new GrantRequest();
+        response.setId(grant.getId());
+        response.setContinueInfo(new GrantRequest.ContinueInfo(grant.getContinueInfo().getUri(),
+                grant.getContinueInfo().getAccessToken(), grant.getContinueInfo().getWait()));
+        response.setInteractInfo(grant.getInteractInfo());
+        response.setAccessTokenList(grant.getAccessTokenList());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] grantRecord() throws Exception {
+        GrantResponse response = new GrantResponse(grant.getId(),
+                new GrantResponse.Continue(grant.getContinueInfo().getUri(),
+                        grant.getContinueInfo().getAccessToken(), grant.getContinueInfo().getWait()),
+                GrantResponse.Interact.from(grant.getInteractInfo()),
+                grant.getAccessTokenList().stream().map(AccessTokenResponse::from).toList());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] introspectionEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(introspected);
+    }
+
+    @Benchmark
+    public byte[] introspectionRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(AccessTokenResponse.from(introspected));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.gnap.as.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory repository stubs for benchmarks.
+ * Repositories are plain JDK proxies so that no database or mocking framework
+ * shows up in the measured time or allocation rate.
+ */
+final class BenchmarkRepositories {
+
+    private BenchmarkRepositories() {
+    }
+
+    /**
+     * Create a repository stub answering the given methods by name.
+     *
+     * @param repositoryType the repository interface
+     * @param answers the answers keyed by method name, given the invocation arguments
+     * @return the repository stub
+     */
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> repositoryType.getSimpleName() + "Stub";
+                    default -> {
+                        Function<Object[], Object> answer = answers.get(method.getName());
+                        if (answer == null) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        yield answer.apply(args);
+                    }
+                });
+        return repositoryType.cast(stub);
+    }
+}
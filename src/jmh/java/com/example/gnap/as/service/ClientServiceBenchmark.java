@@ -0,0 +1,141 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.repository.ClientInformationRepository;
+import com.example.gnap.as.repository.ClientRepository;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for ClientService.authenticateClient across client key types and sizes.
+ * The full path parses the stored JWK and builds a verifier on every call, as a request does today;
+ * the steady-state path verifies with a verifier built once, isolating the signature check itself.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=ClientServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientServiceBenchmark {
+
+    private static final Map<Curve, JWSAlgorithm> ECDSA_ALGORITHMS = Map.of(
+            Curve.P_256, JWSAlgorithm.ES256,
+            Curve.P_384, JWSAlgorithm.ES384,
+            Curve.P_521, JWSAlgorithm.ES512);
+
+    @Param({"RSA-2048", "RSA-3072", "RSA-4096", "EC-P256", "EC-P384", "EC-P521", "OKP-Ed25519"})
+    public String keyType;
+
+    private ClientService clientService;
+    private Client client;
+    private String signedJwt;
+    private JWSVerifier verifier;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        String keyId = UUID.randomUUID().toString();
+        JWK jwk;
+        JWSSigner signer;
+        JWSAlgorithm algorithm;
+
+        switch (keyType) {
+            case "RSA-2048", "RSA-3072", "RSA-4096" -> {
+                RSAKey rsaKey = new RSAKeyGenerator(Integer.parseInt(keyType.substring(4))).keyID(keyId).generate();
+                jwk = rsaKey;
+                signer = new RSASSASigner(rsaKey);
+                verifier = new RSASSAVerifier(rsaKey.toPublicJWK());
+                algorithm = JWSAlgorithm.RS256;
+            }
+            case "EC-P256", "EC-P384", "EC-P521" -> {
+                Curve curve = switch (keyType) {
+                    case "EC-P256" -> Curve.P_256;
+                    case "EC-P384" -> Curve.P_384;
+                    default -> Curve.P_521;
+                };
+                ECKey ecKey = new ECKeyGenerator(curve).keyID(keyId).generate();
+                jwk = ecKey;
+                signer = new ECDSASigner(ecKey);
+                verifier = new ECDSAVerifier(ecKey.toPublicJWK());
+                algorithm = ECDSA_ALGORITHMS.get(curve);
+            }
+            case "OKP-Ed25519" -> {
+                OctetKeyPair octetKeyPair = new OctetKeyPairGenerator(Curve.Ed25519).keyID(keyId).generate();
+                jwk = octetKeyPair;
+                signer = new Ed25519Signer(octetKeyPair);
+                verifier = new Ed25519Verifier(octetKeyPair.toPublicJWK());
+                algorithm = JWSAlgorithm.EdDSA;
+            }
+            default -> throw new IllegalArgumentException("Unsupported key type: " + keyType);
+        }
+
+        client = new Client();
+        client.setId(UUID.randomUUID());
+        client.setKeyId(keyId);
+        client.setKeyJwk(jwk.toPublicJWK().toString());
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("client")
+                .issuer("benchmark")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(), claims);
+        jwt.sign(signer);
+        signedJwt = jwt.serialize();
+
+        ClientRepository clientRepository = BenchmarkRepositories.stub(ClientRepository.class, Map.of(
+                "findByKeyId", args -> Optional.of(client)));
+        ClientInformationRepository clientInformationRepository = BenchmarkRepositories.stub(
+                ClientInformationRepository.class, Map.of("findByClientId", args -> Optional.empty()));
+        clientService = new ClientService(clientRepository, new ClientInformationService(clientInformationRepository));
+
+        if (!clientService.authenticateClient(client, signedJwt)) {
+            throw new IllegalStateException("Client authentication failed for key type " + keyType);
+        }
+    }
+
+    /**
+     * Full per-request path: repository lookup, JWK parse, JWT parse, verifier construction and verification.
+     */
+    @Benchmark
+    public boolean authenticateClient() {
+        return clientService.authenticateClient(client, signedJwt);
+    }
+
+    /**
+     * Steady-state verification: JWT parse and signature check with a verifier built once.
+     */
+    @Benchmark
+    public boolean verifySignature() throws ParseException, JOSEException {
+        return SignedJWT.parse(signedJwt).verify(verifier);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import com.example.gnap.as.repository.AccessTokenRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for TokenService minting and validation.
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Djmh.include=TokenServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    @Param({"HS256", "RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    @Param({"1", "8", "32"})
+    public int resourceCount;
+
+    @Param({"1", "4"})
+    public int resourceServerCount;
+
+    private TokenService tokenService;
+    private GrantRequest grant;
+    private String continuationToken;
+    private AccessToken storedAccessToken;
+
+    @Setup
+    public void setUp() {
+        AccessTokenRepository accessTokenRepository = BenchmarkRepositories.stub(AccessTokenRepository.class, Map.of(
+                "save", args -> args[0],
+                "findByTokenValue", args -> Optional.of(storedAccessToken)));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        AccessClaimCache accessClaimCache = new AccessClaimCache(objectMapper, 10000);
+
+        tokenService = switch (algorithm) {
+            case "HS256" -> new TokenService(accessTokenRepository, accessClaimCache, objectMapper,
+                    Jwts.SIG.HS256.key().build(), null);
+            case "RS256" -> withKeyPair(accessTokenRepository, accessClaimCache, objectMapper,
+                    Jwts.SIG.RS256.keyPair().build());
+            case "ES256" -> withKeyPair(accessTokenRepository, accessClaimCache, objectMapper,
+                    Jwts.SIG.ES256.keyPair().build());
+            case "EdDSA" -> withKeyPair(accessTokenRepository, accessClaimCache, objectMapper,
+                    Jwks.CRV.Ed25519.keyPair().build());
+            default -> throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        };
+        ReflectionTestUtils.setField(tokenService, "tokenLifetime", 3600);
+        ReflectionTestUtils.setField(tokenService, "issuer", "https://auth.example.com");
+
+        grant = grant(resourceCount, resourceServerCount);
+        continuationToken = tokenService.generateContinuationToken(grant);
+        storedAccessToken = tokenService.generateAccessTokens(grant).getFirst();
+        storedAccessToken.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public String generateContinuationToken() {
+        return tokenService.generateContinuationToken(grant);
+    }
+
+    @Benchmark
+    public boolean validateContinuationToken() {
+        return tokenService.validateContinuationToken(grant.getId(), continuationToken);
+    }
+
+    @Benchmark
+    public List<AccessToken> generateAccessTokens() {
+        return tokenService.generateAccessTokens(grant);
+    }
+
+    @Benchmark
+    public AccessToken introspectToken() {
+        return tokenService.introspectToken(storedAccessToken.getTokenValue());
+    }
+
+    private static TokenService withKeyPair(AccessTokenRepository accessTokenRepository, AccessClaimCache accessClaimCache,
+                                            ObjectMapper objectMapper, KeyPair keyPair) {
+        return new TokenService(accessTokenRepository, accessClaimCache, objectMapper,
+                keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    /**
+     * Build a grant whose resources are spread round-robin over the resource servers,
+     * as they would be after interning the access definitions.
+     */
+    private static GrantRequest grant(int resourceCount, int resourceServerCount) {
+        Client client = new Client();
+        client.setId(UUID.randomUUID());
+
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        grant.setClient(client);
+        grant.setUserId(UUID.randomUUID());
+        grant.setStatus(GrantRequest.GrantStatus.APPROVED);
+
+        for (int i = 0; i < resourceCount; i++) {
+            Resource resource = new Resource();
+            resource.setId(UUID.randomUUID());
+            resource.setAccessDefinition(new AccessDefinition("api-" + i, "rs-" + (i % resourceServerCount),
+                    List.of("read", "write"), List.of("https://rs-" + (i % resourceServerCount) + ".example.com/api-" + i),
+                    List.of("metadata")));
+            grant.addResource(resource);
+        }
+        return grant;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.gnap.as.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Row sink using batched JDBC inserts, committing every batch.
+ * Used for H2 and any other database without a COPY protocol.
+ */
+class BatchRowSink implements RowSink {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private int pending;
+
+    BatchRowSink(Connection connection, int batchSize, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        this.statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")");
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof List<?> list) {
+                statement.setArray(i + 1, connection.createArrayOf("VARCHAR", list.toArray()));
+            } else {
+                statement.setObject(i + 1, values[i]);
+            }
+        }
+        statement.addBatch();
+
+        if (++pending >= batchSize) {
+            executeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            executeBatch();
+        } finally {
+            statement.close();
+        }
+    }
+
+    private void executeBatch() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.gnap.as.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL row sink streaming rows through COPY ... FROM STDIN in text format.
+ */
+class CopyRowSink implements RowSink {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+
+    CopyRowSink(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        copyIn.endCopy();
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+        } else if (value instanceof List<?> list) {
+            appendText(arrayLiteral(list));
+        } else {
+            appendText(value.toString());
+        }
+    }
+
+    /**
+     * Escape a value for the COPY text format.
+     */
+    private void appendText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    /**
+     * Build a PostgreSQL array literal, quoting every element.
+     */
+    private static String arrayLiteral(List<?> values) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append('"');
+            String element = String.valueOf(values.get(i));
+            for (int j = 0; j < element.length(); j++) {
+                char c = element.charAt(j);
+                if (c == '"' || c == '\\') {
+                    literal.append('\\');
+                }
+                literal.append(c);
+            }
+            literal.append('"');
+        }
+        return literal.append('}').toString();
+    }
+}
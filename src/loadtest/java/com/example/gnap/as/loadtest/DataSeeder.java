@@ -0,0 +1,443 @@
+package com.example.gnap.as.loadtest;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.GrantRequest.GrantStatus;
+import com.example.gnap.as.model.Interaction.InteractionType;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk synthetic-data seeder for scale testing.
+ * Populates client, access_definition, grant_request, resource, interaction and access_token with
+ * realistic volumes and distributions, so that query plans, index sizes and cleanup jobs can be
+ * measured against tables of production size rather than the handful of rows the load test creates.
+ * <p>
+ * Rows are streamed with COPY on PostgreSQL and with batched JDBC inserts everywhere else (H2).
+ * Every grant is derived from its index and the random seed alone, so each table is written in its
+ * own pass without holding grants in memory, and reruns with the same seed produce the same data.
+ * <p>
+ * Run with: mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.example.gnap.as.loadtest.DataSeeder
+ * -Dseed.url=jdbc:postgresql://localhost:5432/gnap -Dseed.username=... -Dseed.password=... -Dseed.grants=10000000
+ * <p>
+ * The schema must already exist; the seeder only inserts rows.
+ */
+public class DataSeeder {
+
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+    private static final int KEYS_PER_TYPE = 4;
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final String[] ACTIONS = {"read", "write", "delete", "admin"};
+    private static final String[] DATA_TYPES = {"metadata", "images", "documents", "records"};
+
+    // The alphabet of UserCodeAllocator and the default gnap.as.interaction.user-code-length
+    private static final String USER_CODE_ALPHABET = "BCDFGHJKLMNPQRSTVWXZ";
+    private static final int USER_CODE_LENGTH = 8;
+    private static final long USER_CODE_SPACE = 25_600_000_000L;
+    // Coprime to 20, so multiplying by it modulo the code space is a bijection that scatters grant indexes
+    private static final long USER_CODE_MULTIPLIER = 357_913_941L;
+
+    /**
+     * Seeder settings, read from seed.* system properties.
+     *
+     * @param clients number of clients
+     * @param grants number of grant requests
+     * @param users number of distinct resource owners across grants
+     * @param maxResourcesPerGrant each grant requests between 1 and this many resources
+     * @param accessShapes number of distinct access definitions grants draw their resources from
+     * @param resourceServers number of resource servers the access definitions are spread over
+     * @param interactionRatio fraction of grants with an interaction
+     * @param maxTokensPerGrant each approved grant holds between 1 and this many access tokens
+     * @param tokenLength length of the synthetic token values
+     * @param keyMix relative weights of client key types, e.g. EC:60,RSA:30,OKP:10
+     * @param expiredFraction fraction of grants whose expiry lies in the past
+     * @param expiredMarkedFraction fraction of expired grants already marked EXPIRED; the rest are a cleanup backlog
+     * @param maxAgeDays expired grants expire uniformly within this many days before now
+     * @param lifetimeSeconds active grants expire uniformly within this many seconds after now
+     * @param batchSize rows per JDBC batch when COPY is not available
+     * @param randomSeed seed for all generated data
+     */
+    public record Config(int clients, long grants, int users, int maxResourcesPerGrant, int accessShapes,
+                         int resourceServers, double interactionRatio, int maxTokensPerGrant, int tokenLength,
+                         Map<String, Integer> keyMix, double expiredFraction, double expiredMarkedFraction,
+                         int maxAgeDays, int lifetimeSeconds, int batchSize, long randomSeed) {
+
+        public static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("seed.clients", 10_000),
+                    Long.getLong("seed.grants", 1_000_000),
+                    Integer.getInteger("seed.users", 100_000),
+                    Integer.getInteger("seed.resources-per-grant", 3),
+                    Integer.getInteger("seed.access-shapes", 1_000),
+                    Integer.getInteger("seed.resource-servers", 20),
+                    Double.parseDouble(System.getProperty("seed.interaction-ratio", "0.8")),
+                    Integer.getInteger("seed.tokens-per-grant", 2),
+                    Integer.getInteger("seed.token-length", 256),
+                    parseKeyMix(System.getProperty("seed.key-mix", "EC:60,RSA:30,OKP:10")),
+                    Double.parseDouble(System.getProperty("seed.expired-fraction", "0.6")),
+                    Double.parseDouble(System.getProperty("seed.expired-marked-fraction", "0.5")),
+                    Integer.getInteger("seed.max-age-days", 30),
+                    Integer.getInteger("seed.lifetime-seconds", 3600),
+                    Integer.getInteger("seed.batch-size", 5_000),
+                    Long.getLong("seed.random-seed", 42L));
+        }
+
+        private static Map<String, Integer> parseKeyMix(String value) {
+            Map<String, Integer> mix = new LinkedHashMap<>();
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid seed.key-mix entry: " + entry);
+                }
+                mix.put(parts[0].trim().toUpperCase(), Integer.parseInt(parts[1].trim()));
+            }
+            return mix;
+        }
+    }
+
+    /**
+     * Everything about one grant that more than one table needs, derived from its index.
+     */
+    private record GrantShape(UUID id, int clientIndex, GrantStatus status, UUID userId,
+                              long createdAtMillis, LocalDateTime createdAt, LocalDateTime expiresAt,
+                              int resourceCount, boolean interaction, int tokenCount) {
+    }
+
+    private final DataSource dataSource;
+    private final Config config;
+    private final long now = System.currentTimeMillis();
+
+    private UUID[] clientIds;
+    private UUID[] accessDefinitionIds;
+    private boolean copySupported;
+
+    public DataSeeder(DataSource dataSource, Config config) {
+        this.dataSource = dataSource;
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("seed.url");
+        if (url == null) {
+            throw new IllegalArgumentException("seed.url is required");
+        }
+        String username = System.getProperty("seed.username");
+        String password = System.getProperty("seed.password");
+
+        DataSource dataSource = new DriverManagerDataSource(url, username, password);
+        new DataSeeder(dataSource, Config.fromSystemProperties()).seed();
+    }
+
+    /**
+     * Seed all tables, then refresh the planner statistics.
+     */
+    public void seed() throws SQLException, JOSEException {
+        long start = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            copySupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            connection.setAutoCommit(copySupported);
+            System.out.printf("Seeding %d clients and %d grants using %s%n",
+                    config.clients(), config.grants(), copySupported ? "COPY" : "batched inserts");
+
+            seedClients(connection);
+            seedAccessDefinitions(connection);
+            seedGrants(connection);
+            seedResources(connection);
+            seedInteractions(connection);
+            seedAccessTokens(connection);
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+
+        System.out.printf("Seeding finished in %ds%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private void seedClients(Connection connection) throws SQLException, JOSEException {
+        Map<String, List<JWK>> keyPool = keyPool();
+        List<String> keyTypes = new ArrayList<>();
+        config.keyMix().forEach((type, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                keyTypes.add(type);
+            }
+        });
+
+        clientIds = new UUID[config.clients()];
+        try (RowSink sink = open(connection, "client",
+                "id", "instance_id", "display_name", "key_id", "key_jwk", "created_at", "updated_at")) {
+            for (int i = 0; i < config.clients(); i++) {
+                SplittableRandom random = random(i, 1);
+                long createdAt = now - random.nextLong(config.maxAgeDays() * DAY_MILLIS * 2 + 1);
+                clientIds[i] = uuidV7(createdAt, random);
+
+                // Reuse a small pool of real keys, giving each client its own key id
+                List<JWK> keys = keyPool.get(keyTypes.get(random.nextInt(keyTypes.size())));
+                Map<String, Object> jwk = keys.get(random.nextInt(keys.size())).toJSONObject();
+                String keyId = "client-" + i;
+                jwk.put("kid", keyId);
+
+                sink.add(clientIds[i], uuid(random), "Client " + i, keyId, JSONObjectUtils.toJSONString(jwk),
+                        timestamp(createdAt), timestamp(createdAt));
+            }
+        }
+        System.out.printf("  client: %d rows%n", config.clients());
+    }
+
+    private Map<String, List<JWK>> keyPool() throws JOSEException {
+        Map<String, List<JWK>> pool = new LinkedHashMap<>();
+        for (String type : config.keyMix().keySet()) {
+            List<JWK> keys = new ArrayList<>();
+            for (int i = 0; i < KEYS_PER_TYPE; i++) {
+                keys.add(switch (type) {
+                    case "RSA" -> new RSAKeyGenerator(2048).generate().toPublicJWK();
+                    case "EC" -> new ECKeyGenerator(Curve.P_256).generate().toPublicJWK();
+                    case "OKP" -> new OctetKeyPairGenerator(Curve.Ed25519).generate().toPublicJWK();
+                    default -> throw new IllegalArgumentException("Unsupported key type in seed.key-mix: " + type);
+                });
+            }
+            pool.put(type, keys);
+        }
+        return pool;
+    }
+
+    private void seedAccessDefinitions(Connection connection) throws SQLException {
+        accessDefinitionIds = new UUID[config.accessShapes()];
+        try (RowSink sink = open(connection, "access_definition",
+                "id", "hash", "type", "resource_server", "actions", "locations", "data_types", "created_at")) {
+            for (int shape = 0; shape < config.accessShapes(); shape++) {
+                SplittableRandom random = random(shape, 2);
+                String resourceServer = "rs-" + (shape % config.resourceServers());
+
+                List<String> actions = new ArrayList<>(List.of(ACTIONS[0]));
+                for (int i = 1; i < ACTIONS.length; i++) {
+                    if (random.nextInt(3) == 0) {
+                        actions.add(ACTIONS[i]);
+                    }
+                }
+                List<String> locations = List.of("https://" + resourceServer + ".example.com/api-" + shape);
+                List<String> dataTypes = random.nextBoolean()
+                        ? List.of(DATA_TYPES[random.nextInt(DATA_TYPES.length)])
+                        : List.of();
+
+                // Go through the entity so the hash matches what AccessDefinitionService computes
+                AccessDefinition definition = new AccessDefinition("api-" + shape, resourceServer,
+                        actions, locations, dataTypes);
+                long createdAt = now - config.maxAgeDays() * DAY_MILLIS * 2;
+                accessDefinitionIds[shape] = uuidV7(createdAt, random);
+
+                sink.add(accessDefinitionIds[shape], definition.getHash(), definition.getType(),
+                        definition.getResourceServer(), orEmpty(definition.getActions()),
+                        orEmpty(definition.getLocations()), orEmpty(definition.getDataTypes()), timestamp(createdAt));
+            }
+        }
+        System.out.printf("  access_definition: %d rows%n", config.accessShapes());
+    }
+
+    private void seedGrants(Connection connection) throws SQLException {
+        try (RowSink sink = open(connection, "grant_request",
+                "id", "client_id", "status", "redirect_uri", "state", "user_id", "expires_at", "created_at", "updated_at")) {
+            for (long i = 0; i < config.grants(); i++) {
+                GrantShape grant = grant(i);
+                sink.add(grant.id(), clientIds[grant.clientIndex()], grant.status().name(),
+                        "https://client-" + grant.clientIndex() + ".example.com/callback", Long.toHexString(i),
+                        grant.userId(), grant.expiresAt(), grant.createdAt(), grant.createdAt());
+                progress("grant_request", i);
+            }
+        }
+        System.out.printf("  grant_request: %d rows%n", config.grants());
+    }
+
+    private void seedResources(Connection connection) throws SQLException {
+        long rows = 0;
+        try (RowSink sink = open(connection, "resource",
+                "id", "grant_id", "access_definition_id", "created_at", "updated_at")) {
+            for (long i = 0; i < config.grants(); i++) {
+                GrantShape grant = grant(i);
+                SplittableRandom random = random(i, 4);
+                long createdAt = grant.createdAtMillis();
+                for (int r = 0; r < grant.resourceCount(); r++) {
+                    sink.add(uuidV7(createdAt, random), grant.id(),
+                            accessDefinitionIds[random.nextInt(accessDefinitionIds.length)],
+                            grant.createdAt(), grant.createdAt());
+                    rows++;
+                }
+                progress("resource", i);
+            }
+        }
+        System.out.printf("  resource: %d rows%n", rows);
+    }
+
+    private void seedInteractions(Connection connection) throws SQLException {
+        long rows = 0;
+        try (RowSink sink = open(connection, "interaction",
+                "id", "grant_id", "interaction_type", "interaction_url", "user_code", "nonce", "hash_method",
+                "expires_at", "created_at", "updated_at")) {
+            for (long i = 0; i < config.grants(); i++) {
+                GrantShape grant = grant(i);
+                if (!grant.interaction()) {
+                    continue;
+                }
+                SplittableRandom random = random(i, 5);
+                long createdAt = grant.createdAtMillis();
+                InteractionType type = random.nextInt(10) < 8 ? InteractionType.REDIRECT : InteractionType.USER_CODE;
+                String path = type == InteractionType.REDIRECT ? "redirect" : "user-code";
+                String userCode = type == InteractionType.USER_CODE ? userCode(i) : null;
+
+                sink.add(uuidV7(createdAt, random), grant.id(), type.name(),
+                        "https://as.example.com/gnap/interact/" + path + "/" + grant.id(), userCode,
+                        Long.toHexString(random.nextLong()), "sha-256", grant.expiresAt(),
+                        grant.createdAt(), grant.createdAt());
+                rows++;
+                progress("interaction", i);
+            }
+        }
+        System.out.printf("  interaction: %d rows%n", rows);
+    }
+
+    private void seedAccessTokens(Connection connection) throws SQLException {
+        long rows = 0;
+        try (RowSink sink = open(connection, "access_token",
+                "id", "grant_id", "token_value", "access_type", "resource_server", "expires_at", "created_at", "updated_at")) {
+            for (long i = 0; i < config.grants(); i++) {
+                GrantShape grant = grant(i);
+                SplittableRandom random = random(i, 6);
+                long createdAt = grant.createdAtMillis();
+                for (int t = 0; t < grant.tokenCount(); t++) {
+                    sink.add(uuidV7(createdAt, random), grant.id(), tokenValue(random), "bearer",
+                            "rs-" + random.nextInt(config.resourceServers()), grant.expiresAt(),
+                            grant.createdAt(), grant.createdAt());
+                    rows++;
+                }
+                progress("access_token", i);
+            }
+        }
+        System.out.printf("  access_token: %d rows%n", rows);
+    }
+
+    /**
+     * Derive the grant with the given index. Expired grants expire uniformly over the last maxAgeDays,
+     * active grants uniformly over the next lifetimeSeconds; both were created one lifetime before expiry.
+     */
+    private GrantShape grant(long index) {
+        SplittableRandom random = random(index, 3);
+        long lifetimeMillis = TimeUnit.SECONDS.toMillis(config.lifetimeSeconds());
+
+        boolean expired = random.nextDouble() < config.expiredFraction();
+        long expiresAt = expired
+                ? now - 1 - random.nextLong(config.maxAgeDays() * DAY_MILLIS)
+                : now + 1 + random.nextLong(lifetimeMillis);
+        long createdAt = expiresAt - lifetimeMillis;
+
+        GrantStatus status;
+        if (expired) {
+            status = random.nextDouble() < config.expiredMarkedFraction() ? GrantStatus.EXPIRED
+                    : random.nextBoolean() ? GrantStatus.APPROVED : GrantStatus.PENDING;
+        } else {
+            int roll = random.nextInt(10);
+            status = roll < 3 ? GrantStatus.PENDING : roll < 9 ? GrantStatus.APPROVED : GrantStatus.DENIED;
+        }
+
+        UUID userId = status == GrantStatus.PENDING ? null : userId(random.nextInt(config.users()));
+        int resourceCount = 1 + random.nextInt(config.maxResourcesPerGrant());
+        boolean interaction = random.nextDouble() < config.interactionRatio();
+        int tokenCount = status == GrantStatus.APPROVED ? 1 + random.nextInt(config.maxTokensPerGrant()) : 0;
+
+        return new GrantShape(uuidV7(createdAt, random), random.nextInt(config.clients()), status, userId,
+                createdAt, timestamp(createdAt), timestamp(expiresAt), resourceCount, interaction, tokenCount);
+    }
+
+    private UUID userId(int userIndex) {
+        return uuid(random(userIndex, 7));
+    }
+
+    /**
+     * The user code of a grant's interaction, unique across grants as it is a bijection of the grant index.
+     */
+    private static String userCode(long grantIndex) {
+        // The code space times the multiplier stays below Long.MAX_VALUE
+        long value = grantIndex % USER_CODE_SPACE * USER_CODE_MULTIPLIER % USER_CODE_SPACE;
+        char[] code = new char[USER_CODE_LENGTH];
+        for (int i = USER_CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = USER_CODE_ALPHABET.charAt((int) (value % USER_CODE_ALPHABET.length()));
+            value /= USER_CODE_ALPHABET.length();
+        }
+        return new String(code);
+    }
+
+    private String tokenValue(SplittableRandom random) {
+        char[] value = new char[config.tokenLength()];
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < value.length; i++) {
+            value[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(value);
+    }
+
+    private RowSink open(Connection connection, String table, String... columns) throws SQLException {
+        return copySupported
+                ? new CopyRowSink(connection, table, columns)
+                : new BatchRowSink(connection, config.batchSize(), table, columns);
+    }
+
+    private void progress(String table, long grantIndex) {
+        if (grantIndex > 0 && grantIndex % PROGRESS_INTERVAL == 0) {
+            System.out.printf("  %s: %d grants written%n", table, grantIndex);
+        }
+    }
+
+    /**
+     * A random source private to one entity and purpose, so every pass derives the same values.
+     */
+    private SplittableRandom random(long index, int purpose) {
+        return new SplittableRandom(config.randomSeed() ^ index * 0x9E3779B97F4A7C15L ^ purpose * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return new UUID(random.nextLong() & ~0xF000L | 0x4000L,
+                random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L);
+    }
+
+    /**
+     * A version 7 UUID for the given creation time, so seeded keys have the same locality as generated ones.
+     */
+    private static UUID uuidV7(long epochMillis, SplittableRandom random) {
+        long msb = epochMillis << 16 | 0x7000L | random.nextInt(0x1000);
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Timestamps in the system time zone, as the application stores LocalDateTime.now().
+     */
+    private static LocalDateTime timestamp(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+}
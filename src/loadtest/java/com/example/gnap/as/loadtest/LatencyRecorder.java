@@ -0,0 +1,120 @@
+package com.example.gnap.as.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error recorder for a single endpoint of the load test.
+ * Latencies are recorded in microseconds into an HdrHistogram {@link Recorder},
+ * which is safe to record into from any number of worker threads. Errors are also counted per HTTP status,
+ * so that requests shed with 503 or 429 can be told apart from failures.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentSkipListMap<>();
+
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Record a successful call that started at the given time.
+     *
+     * @param startNanos the System.nanoTime() at which the call started
+     */
+    void record(long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /**
+     * Record a call that failed with an unexpected HTTP status.
+     *
+     * @param status the HTTP status of the response
+     */
+    void error(int status) {
+        errors.increment();
+        errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discard everything recorded so far, e.g. at the end of the warm-up.
+     */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+        errorsByStatus.clear();
+    }
+
+    /**
+     * Take the histogram of everything recorded since the last reset.
+     *
+     * @return the interval histogram
+     */
+    Histogram intervalHistogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Describe the errors per HTTP status, e.g. "503=12 500=1".
+     *
+     * @return the errors per status, or an empty string if no call failed with an HTTP status
+     */
+    String errorsByStatus() {
+        StringJoiner joiner = new StringJoiner(" ");
+        errorsByStatus.forEach((status, count) -> joiner.add(status + "=" + count.sum()));
+        return joiner.toString();
+    }
+
+    /**
+     * Print a one-line summary of the histogram in milliseconds.
+     */
+    void printSummary(PrintStream out, Histogram histogram, double seconds) {
+        out.printf("%-20s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                errorCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Write the full percentile distribution in milliseconds, in the .hgrm format understood by the HdrHistogram plotter.
+     */
+    void writeDistribution(Path directory, Histogram histogram) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.gnap.as.loadtest;
+
+import com.example.gnap.as.GnapAsApplication;
+import com.example.gnap.as.controller.InteractionController;
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.repository.ClientRepository;
+import com.example.gnap.as.service.UserCodeAllocator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test for the GNAP flow.
+ * Boots the authorization server on the in-memory H2 profile, registers a pool of key-bound clients and
+ * drives the full flow from concurrent workers: grant request, a pending continuation poll, consent,
+ * an approved continuation poll, then introspection and revocation of every issued access token.
+ * Consent is submitted through {@link InteractionController#submitConsent} in-process, as the consent
+ * form is a browser interaction. Per-endpoint latency is reported as HdrHistogram percentiles.
+ * <p>
+ * Setting any seed.* property, e.g. -Dseed.grants=1000000, first fills the database through {@link DataSeeder},
+ * so the flow runs against tables of realistic size.
+ * <p>
+ * Rate limiting is off in the h2 profile, but admission control and the bulkheads stay on, as they are part of
+ * what is measured. Requests they shed count as errors and are broken down by HTTP status in the report, so 503s
+ * from shedding can be told apart from failures; add --gnap.as.admission.enabled=false and
+ * --gnap.as.bulkhead.enabled=false to measure the server without them.
+ * <p>
+ * -Dloadtest.virtual-threads=true runs the server with the virtual-threads profile. Measured on 1 vCPU with
+ * admission control and the bulkheads off, 15s warm-up and 45s measured, one run each, in completed flows per
+ * second and grant p99:
+ * <pre>
+ * workers   platform             virtual
+ *      64    8.2/s,  3.2s p99    14.2/s, 1.8s p99
+ *     256   12.2/s,  7.6s p99    18.4/s, 5.4s p99
+ * </pre>
+ * Virtual threads completed 50 to 75% more flows. The largest difference is consent, which runs in-process on
+ * a harness worker and took 2 to 5.6s p50 next to Tomcat's 200 platform threads against 22ms next to virtual
+ * threads, so part of the gain is the harness competing less for the single CPU. No request failed in these runs.
+ * These are single runs on a shared machine; repeat them on the target hardware before relying on the numbers.
+ * <p>
+ * Run with: mvn -Ploadtest test-compile exec:java [-Dloadtest.duration-seconds=120 -Dloadtest.concurrency=64]
+ */
+public class LoadTestHarness {
+
+    private static final String GRANT = "grant";
+    private static final String CONTINUE_PENDING = "continue-pending";
+    private static final String CONSENT = "consent";
+    private static final String CONTINUE_APPROVED = "continue-approved";
+    private static final String INTROSPECT = "introspect";
+    private static final String REVOKE = "revoke";
+
+    private final int clientCount = Integer.getInteger("loadtest.clients", 20);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final int resourcesPerGrant = Integer.getInteger("loadtest.resources", 3);
+    private final int resourceServers = Integer.getInteger("loadtest.resource-servers", 2);
+    private final int accessShapes = Integer.getInteger("loadtest.access-shapes", 50);
+    private final boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+    private final Path outputDirectory = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    private String baseUrl;
+    private InteractionController interactionController;
+    private List<ObjectNode> clients;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        for (String endpoint : List.of(GRANT, CONTINUE_PENDING, CONSENT, CONTINUE_APPROVED, INTROSPECT, REVOKE)) {
+            recorders.put(endpoint, new LatencyRecorder(endpoint));
+        }
+
+        // Devtools would restart the context in a separate class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(GnapAsApplication.class);
+        if (virtualThreads) {
+            application.setAdditionalProfiles("h2", "virtual-threads");
+        } else {
+            application.setAdditionalProfiles("h2");
+        }
+        List<String> applicationArgs = new ArrayList<>(List.of(args));
+        applicationArgs.add("--server.port=0");
+
+        try (ConfigurableApplicationContext context = application.run(applicationArgs.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+            interactionController = context.getBean(InteractionController.class);
+            clients = registerClients(context.getBean(ClientRepository.class));
+
+            if (System.getProperty("seed.grants") != null) {
+                new DataSeeder(context.getBean(DataSource.class), DataSeeder.Config.fromSystemProperties()).seed();
+                // The allocator loaded its live codes on startup, before the seeded user codes existed
+                context.getBean(UserCodeAllocator.class).rebuild();
+            }
+
+            System.out.printf("Load test against %s on %s threads: %d clients, %d workers, %d resources over %d resource servers per grant%n",
+                    baseUrl, virtualThreads ? "virtual" : "platform", clientCount, concurrency, resourcesPerGrant, resourceServers);
+
+            System.out.printf("Warming up for %ds%n", warmupSeconds);
+            drive(warmupSeconds);
+            recorders.values().forEach(LatencyRecorder::reset);
+
+            System.out.printf("Measuring for %ds%n", durationSeconds);
+            long start = System.nanoTime();
+            drive(durationSeconds);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            report(seconds);
+        }
+    }
+
+    /**
+     * Register the client pool directly through the repository, each with its own P-256 key.
+     *
+     * @return the client objects to send in grant requests
+     */
+    private List<ObjectNode> registerClients(ClientRepository clientRepository) throws JOSEException {
+        List<Client> entities = new ArrayList<>();
+        List<ObjectNode> requests = new ArrayList<>();
+
+        for (int i = 0; i < clientCount; i++) {
+            ECKey key = new ECKeyGenerator(Curve.P_256).keyID(UUID.randomUUID().toString()).generate();
+
+            Client client = new Client();
+            client.setInstanceId(UUID.randomUUID());
+            client.setKeyId(key.getKeyID());
+            client.setKeyJwk(key.toPublicJWK().toJSONString());
+            entities.add(client);
+
+            ObjectNode request = objectMapper.createObjectNode();
+            request.put("kid", key.getKeyID());
+            ObjectNode keyNode = request.putObject("key");
+            keyNode.put("proof", "jwsd");
+            keyNode.set("jwk", objectMapper.valueToTree(key.toPublicJWK().toJSONObject()));
+            requests.add(request);
+        }
+
+        clientRepository.saveAll(entities);
+        return requests;
+    }
+
+    /**
+     * Run the flow from all workers until the given number of seconds has passed.
+     */
+    private void drive(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService workers = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        runFlow();
+                    }
+                });
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Run one complete GNAP flow, stopping at the first failed step.
+     */
+    private void runFlow() {
+        try {
+            JsonNode grant = call(GRANT, post("/gnap/grant", grantRequest()), 201);
+            if (grant == null) {
+                return;
+            }
+
+            UUID grantId = UUID.fromString(grant.path("instance_id").asText());
+            String continueUri = grant.path("continue").path("uri").asText();
+            String continuationToken = grant.path("continue").path("access_token").asText();
+
+            if (call(CONTINUE_PENDING, poll(continueUri, continuationToken), 200) == null) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            String redirect = interactionController.submitConsent(grantId, true).getUrl();
+            if (redirect == null || redirect.startsWith("/error")) {
+                recorders.get(CONSENT).error();
+                return;
+            }
+            recorders.get(CONSENT).record(start);
+
+            JsonNode approved = call(CONTINUE_APPROVED, poll(continueUri, continuationToken), 200);
+            if (approved == null) {
+                return;
+            }
+
+            for (JsonNode accessToken : approved.path("access_token")) {
+                String token = URLEncoder.encode(accessToken.path("value").asText(), StandardCharsets.UTF_8);
+                if (call(INTROSPECT, form("/gnap/token/introspect", "token=" + token), 200) == null) {
+                    return;
+                }
+                if (call(REVOKE, form("/gnap/token/revoke", "token=" + token), 200) == null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Flow failed: " + e);
+        }
+    }
+
+    /**
+     * Send a request and record its latency, or an error under its status when the status is not the expected one.
+     *
+     * @return the response body, or null on error
+     */
+    private JsonNode call(String endpoint, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        LatencyRecorder recorder = recorders.get(endpoint);
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            recorder.error(response.statusCode());
+            return null;
+        }
+        recorder.record(start);
+        return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+    }
+
+    private byte[] grantRequest() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode request = objectMapper.createObjectNode();
+
+        ArrayNode access = request.putArray("access_token").addObject().putArray("access");
+        for (int i = 0; i < resourcesPerGrant; i++) {
+            // Draw from a fixed pool of access shapes so that access definitions are shared across grants
+            int shape = random.nextInt(accessShapes);
+            ObjectNode resource = access.addObject();
+            resource.put("type", "api-" + shape);
+            resource.put("resource_server", "rs-" + (shape % resourceServers));
+            resource.putArray("actions").add("read").add("write");
+            resource.putArray("locations").add("https://rs-" + (shape % resourceServers) + ".example.com/api-" + shape);
+        }
+
+        request.set("client", clients.get(random.nextInt(clients.size())));
+
+        ObjectNode interact = request.putObject("interact");
+        interact.put("redirect", "https://client.example.com/callback");
+        ObjectNode finish = interact.putObject("finish");
+        finish.put("method", "redirect");
+        finish.put("uri", "https://client.example.com/callback");
+
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    private HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private HttpRequest poll(String continueUri, String continuationToken) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + continueUri))
+                .header("Authorization", "Bearer " + continuationToken)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest form(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report(double seconds) throws IOException {
+        System.out.println();
+        System.out.printf("%-20s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (LatencyRecorder recorder : recorders.values()) {
+            Histogram histogram = recorder.intervalHistogram();
+            recorder.printSummary(System.out, histogram, seconds);
+            recorder.writeDistribution(outputDirectory, histogram);
+        }
+        System.out.println();
+        for (LatencyRecorder recorder : recorders.values()) {
+            String errorsByStatus = recorder.errorsByStatus();
+            if (!errorsByStatus.isEmpty()) {
+                System.out.printf("%-20s errors by status: %s%n", recorder.endpoint(), errorsByStatus);
+            }
+        }
+        System.out.printf("%nPercentile distributions written to %s%n", outputDirectory.toAbsolutePath());
+    }
+}
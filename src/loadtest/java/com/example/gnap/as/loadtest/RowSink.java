@@ -0,0 +1,26 @@
+package com.example.gnap.as.loadtest;
+
+import java.sql.SQLException;
+
+/**
+ * Streaming bulk writer for the rows of one table.
+ * Values are UUIDs, strings, LocalDateTimes, string lists for array columns, or null.
+ */
+interface RowSink extends AutoCloseable {
+
+    /**
+     * Add a row; values follow the column order the sink was opened with.
+     *
+     * @param values the column values
+     * @throws SQLException if the row cannot be written
+     */
+    void add(Object... values) throws SQLException;
+
+    /**
+     * Flush the remaining rows and finish the table.
+     *
+     * @throws SQLException if the rows cannot be written
+     */
+    @Override
+    void close() throws SQLException;
+}
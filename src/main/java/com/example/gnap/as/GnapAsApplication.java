@@ -2,8 +2,22 @@ package com.example.gnap.as;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * GNAP Authorization Server.
+ * R2DBC is only used by the reactive read path, which sets up its own connection factory (see ReactiveConfig),
+ * so its auto-configuration is excluded: its transaction manager would otherwise replace the JPA one.
+ */
+@SpringBootApplication(exclude = {
+        R2dbcAutoConfiguration.class,
+        R2dbcTransactionManagerAutoConfiguration.class,
+        R2dbcDataAutoConfiguration.class,
+        R2dbcRepositoriesAutoConfiguration.class
+})
 public class GnapAsApplication {
 
     public static void main(String[] args) {
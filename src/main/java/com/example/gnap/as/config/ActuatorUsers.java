@@ -0,0 +1,33 @@
+package com.example.gnap.as.config;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * The operator account for the actuator endpoints, configured with gnap.as.actuator.username and
+ * gnap.as.actuator.password. The password is given in Spring Security's {id}encoded form, e.g. {bcrypt}...;
+ * without one there is no account, and every actuator endpoint but health is refused.
+ */
+final class ActuatorUsers {
+
+    static final String ROLE = "ACTUATOR";
+
+    private ActuatorUsers() {
+    }
+
+    /**
+     * Create the configured operator account.
+     *
+     * @param username the username
+     * @param password the encoded password, or blank for none
+     * @return the account, or none if no password is configured
+     */
+    static List<UserDetails> of(String username, String password) {
+        if (password == null || password.isBlank()) {
+            return List.of();
+        }
+        return List.of(User.withUsername(username).password(password).roles(ROLE).build());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.gnap.as.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency with additive increase, multiplicative decrease (AIMD).
+ * A request completing within the latency target while the limit is at least half used raises the limit by
+ * 1/limit, about one per round of requests; a slow or failed request lowers it by the backoff ratio, at most
+ * once per latency target so that one burst of slow requests counts as one congestion signal.
+ * Requests are also counted in fixed windows: once at least the minimum number of requests in a window
+ * completed and the share of them that were slow or failed reaches the threshold, the limit is congested for
+ * one window length, which lets lower-priority work be shed while this work suffers. A single slow request,
+ * e.g. a long garbage collection pause, does not mark the limit as congested.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyTargetNanos;
+    private final long congestionWindowNanos;
+    private final double congestionThreshold;
+    private final int congestionMinRequests;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int currentLimit;
+    private volatile long congestedUntil;
+
+    // Guarded by this
+    private double limit;
+    private long lastDecrease;
+    private long windowStart;
+    private int windowRequests;
+    private int windowCongested;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             Duration latencyTarget, Duration congestionWindow, double congestionThreshold,
+                             int congestionMinRequests) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.congestionWindowNanos = congestionWindow.toNanos();
+        this.congestionThreshold = congestionThreshold;
+        this.congestionMinRequests = Math.max(1, congestionMinRequests);
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.currentLimit = (int) limit;
+        long now = System.nanoTime();
+        this.congestedUntil = now;
+        this.lastDecrease = now - latencyTargetNanos;
+        this.windowStart = now;
+    }
+
+    /**
+     * Admit a request if fewer than the current limit are in flight.
+     *
+     * @return whether the request was admitted; if so, {@link #release} must be called when it completes
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and adapt the limit to its outcome.
+     *
+     * @param latencyNanos the request's latency
+     * @param dropped whether the request failed with a server error
+     */
+    void release(long latencyNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        boolean congested = dropped || latencyNanos > latencyTargetNanos;
+
+        synchronized (this) {
+            if (now - windowStart >= congestionWindowNanos) {
+                windowStart = now;
+                windowRequests = 0;
+                windowCongested = 0;
+            }
+            windowRequests++;
+            if (congested) {
+                windowCongested++;
+                if (windowRequests >= congestionMinRequests
+                        && windowCongested >= windowRequests * congestionThreshold) {
+                    congestedUntil = now + congestionWindowNanos;
+                }
+            }
+
+            if (congested) {
+                if (now - lastDecrease >= latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    /**
+     * Whether the share of slow or failed requests reached the threshold within the last window length.
+     */
+    boolean isCongested() {
+        return System.nanoTime() - congestedUntil < 0;
+    }
+
+    int getLimit() {
+        return currentLimit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapException;
+import com.example.gnap.as.service.GnapMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Filter shedding GNAP requests under overload with an adaptive concurrency limit per endpoint class.
+ * When the database slows down, latency rises and each class's limit shrinks, so requests are answered
+ * with 503 Service Unavailable, a GNAP too_fast error and Retry-After instead of piling up on the connection pool. While a class
+ * is congested, requests of lower-priority classes are shed as well, so that grant creation and the
+ * interaction UI give way to introspection, which resource servers call on every API request.
+ */
+class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * The endpoint classes, from the highest to the lowest priority.
+     */
+    enum EndpointClass {
+        INTROSPECTION("introspection"),
+        CONTINUATION("continuation"),
+        GRANT("grant"),
+        INTERACTION("interaction");
+
+        private final String tag;
+
+        EndpointClass(String tag) {
+            this.tag = tag;
+        }
+
+        String getTag() {
+            return tag;
+        }
+
+        /**
+         * Classify a request.
+         *
+         * @param method the HTTP method
+         * @param path the request path, without the context path
+         * @return the endpoint class, or null for requests not under admission control
+         */
+        static EndpointClass of(String method, String path) {
+            if (path.startsWith("/gnap/token/")) {
+                return INTROSPECTION;
+            }
+            if (path.startsWith("/gnap/interact/")) {
+                return INTERACTION;
+            }
+            if (path.equals("/gnap/grant")) {
+                return "POST".equals(method) ? GRANT : null;
+            }
+            if (path.startsWith("/gnap/grant/")) {
+                return CONTINUATION;
+            }
+            return null;
+        }
+    }
+
+    static final String REASON_LIMIT = "limit";
+    static final String REASON_PRIORITY = "priority";
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+    private final GnapMetrics gnapMetrics;
+    private final JsonCodecs jsonCodecs;
+
+    AdmissionControlFilter(Map<EndpointClass, AdaptiveConcurrencyLimit> limits, GnapMetrics gnapMetrics,
+                           JsonCodecs jsonCodecs) {
+        this.limits = limits;
+        this.gnapMetrics = gnapMetrics;
+        this.jsonCodecs = jsonCodecs;
+        limits.forEach((endpointClass, limit) ->
+                gnapMetrics.admissionLimit(endpointClass.getTag(), limit, AdaptiveConcurrencyLimit::getLimit));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        AdaptiveConcurrencyLimit limit = endpointClass != null ? limits.get(endpointClass) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (higherPriorityCongested(endpointClass)) {
+            shed(endpointClass, REASON_PRIORITY, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            shed(endpointClass, REASON_LIMIT, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private boolean higherPriorityCongested(EndpointClass endpointClass) {
+        for (EndpointClass other : EndpointClass.values()) {
+            if (other == endpointClass) {
+                return false;
+            }
+            AdaptiveConcurrencyLimit limit = limits.get(other);
+            if (limit != null && limit.isCongested()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void shed(EndpointClass endpointClass, String reason, HttpServletResponse response) throws IOException {
+        gnapMetrics.admissionRejected(endpointClass.getTag(), reason);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        GnapErrorResponses.write(GnapException.SERVER_BUSY, jsonCodecs, response);
+    }
+}
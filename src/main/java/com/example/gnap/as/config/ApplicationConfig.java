@@ -1,11 +1,197 @@
 package com.example.gnap.as.config;
 
+import com.example.gnap.as.service.ClientService;
+import com.example.gnap.as.service.GnapMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Application configuration for the GNAP Authorization Server.
  */
 @Configuration
 public class ApplicationConfig {
-    // Configuration beans can be added here if needed
+
+    /**
+     * Create the sampled request log shared by the servlet and reactive stacks.
+     *
+     * @param sampleRate the fraction of successful, fast requests to log
+     * @param slowThreshold the duration from which requests are always logged
+     * @return the request log
+     */
+    @Bean
+    RequestLog requestLog(
+            @Value("${gnap.as.request-log.sample-rate:0.05}") double sampleRate,
+            @Value("${gnap.as.request-log.slow-threshold:500ms}") Duration slowThreshold) {
+        return new RequestLog(sampleRate, slowThreshold);
+    }
+
+    /**
+     * Register the request log for the GNAP endpoints. It runs first so that its duration and status
+     * include security and concurrency limiting.
+     *
+     * @param requestLog the request log
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(RequestLog requestLog) {
+        FilterRegistrationBean<RequestLoggingFilter> registration =
+                new FilterRegistrationBean<>(new RequestLoggingFilter(requestLog));
+        registration.addUrlPatterns("/gnap/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Register the per-client rate limits for grant and continuation requests. It runs right after the request
+     * log, so that rejected requests are logged but take no concurrency permit.
+     *
+     * @param addressRate the grant requests, and the continuation requests, per second per remote address
+     * @param addressBurst the grant request, and the continuation request, burst per remote address
+     * @param grantRate the default grant requests per second per client key
+     * @param grantBurst the default grant request burst per client key
+     * @param continuationRate the default continuation requests per second per grant
+     * @param continuationBurst the default continuation request burst per grant
+     * @param maxKeys the maximum number of buckets kept in memory
+     * @param refreshInterval how often the limits of a bucket are resolved again
+     * @param maxGrantRequestSize the maximum size of a grant request body
+     * @param clientService the client service, for the clients of claimed key IDs and grant IDs
+     * @param gnapMetrics the GNAP metrics
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "gnap.as.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${gnap.as.rate-limit.address.rate:20}") double addressRate,
+            @Value("${gnap.as.rate-limit.address.burst:40}") int addressBurst,
+            @Value("${gnap.as.rate-limit.grant.rate:5}") double grantRate,
+            @Value("${gnap.as.rate-limit.grant.burst:10}") int grantBurst,
+            @Value("${gnap.as.rate-limit.continuation.rate:1}") double continuationRate,
+            @Value("${gnap.as.rate-limit.continuation.burst:5}") int continuationBurst,
+            @Value("${gnap.as.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${gnap.as.rate-limit.refresh-interval:5m}") Duration refreshInterval,
+            @Value("${gnap.as.grant-request.max-document-length:64KB}") DataSize maxGrantRequestSize,
+            ClientService clientService,
+            GnapMetrics gnapMetrics,
+            JsonCodecs jsonCodecs) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketLimiter(maxKeys, refreshInterval),
+                new TokenBucketLimiter.Limit(addressRate, addressBurst),
+                new TokenBucketLimiter.Limit(grantRate, grantBurst),
+                new TokenBucketLimiter.Limit(continuationRate, continuationBurst),
+                (int) maxGrantRequestSize.toBytes(),
+                clientService, gnapMetrics, jsonCodecs);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/gnap/grant", "/gnap/grant/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Register admission control for the GNAP endpoints. It runs after the rate limits, so that only requests
+     * within their client's rate compete for capacity, and before the concurrency limit of virtual threads.
+     *
+     * @param initialLimit the concurrency limit each endpoint class starts with
+     * @param minLimit the lowest concurrency limit of an endpoint class
+     * @param maxLimit the highest concurrency limit of an endpoint class
+     * @param backoffRatio the factor applied to a limit when requests are slow or fail
+     * @param congestionWindow the window over which the share of slow or failed requests is counted
+     * @param congestionThreshold the share of slow or failed requests that sheds lower-priority work
+     * @param congestionMinRequests the fewest requests in a window that can mark it as congested
+     * @param introspectionTarget the latency target of token introspection and revocation
+     * @param continuationTarget the latency target of continuation requests
+     * @param grantTarget the latency target of grant requests
+     * @param interactionTarget the latency target of the interaction endpoints
+     * @param gnapMetrics the GNAP metrics
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "gnap.as.admission.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Value("${gnap.as.admission.initial-limit:20}") int initialLimit,
+            @Value("${gnap.as.admission.min-limit:1}") int minLimit,
+            @Value("${gnap.as.admission.max-limit:200}") int maxLimit,
+            @Value("${gnap.as.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${gnap.as.admission.congestion-window:1s}") Duration congestionWindow,
+            @Value("${gnap.as.admission.congestion-threshold:0.2}") double congestionThreshold,
+            @Value("${gnap.as.admission.congestion-min-requests:20}") int congestionMinRequests,
+            @Value("${gnap.as.admission.introspection.latency-target:50ms}") Duration introspectionTarget,
+            @Value("${gnap.as.admission.continuation.latency-target:100ms}") Duration continuationTarget,
+            @Value("${gnap.as.admission.grant.latency-target:250ms}") Duration grantTarget,
+            @Value("${gnap.as.admission.interaction.latency-target:250ms}") Duration interactionTarget,
+            GnapMetrics gnapMetrics,
+            JsonCodecs jsonCodecs) {
+        Map<AdmissionControlFilter.EndpointClass, Duration> targets = Map.of(
+                AdmissionControlFilter.EndpointClass.INTROSPECTION, introspectionTarget,
+                AdmissionControlFilter.EndpointClass.CONTINUATION, continuationTarget,
+                AdmissionControlFilter.EndpointClass.GRANT, grantTarget,
+                AdmissionControlFilter.EndpointClass.INTERACTION, interactionTarget);
+        Map<AdmissionControlFilter.EndpointClass, AdaptiveConcurrencyLimit> limits =
+                new EnumMap<>(AdmissionControlFilter.EndpointClass.class);
+        targets.forEach((endpointClass, target) -> limits.put(endpointClass, new AdaptiveConcurrencyLimit(
+                initialLimit, minLimit, maxLimit, backoffRatio, target,
+                congestionWindow, congestionThreshold, congestionMinRequests)));
+
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limits, gnapMetrics, jsonCodecs));
+        registration.addUrlPatterns("/gnap/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    /**
+     * Register the bulkheads separating the interaction UI from the machine-to-machine API. They run after
+     * admission control, so that shed requests take no permit. By default the interaction UI gets a quarter
+     * of the connection pool, at least 2, so slow consent pages cannot hold more; the API gets the whole pool,
+     * so its bursts queue for connections rather than for a smaller budget. See {@link BulkheadFilter} for how
+     * the limits are layered.
+     *
+     * @param dataSource the data source
+     * @param interactionMax an explicit interaction budget, or 0 to derive it from the pool size
+     * @param interactionTimeout how long an interaction request waits for a permit
+     * @param apiMax an explicit API budget, or 0 for the pool size
+     * @param apiTimeout how long an API request waits for a permit
+     * @param gnapMetrics the GNAP metrics
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "gnap.as.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            DataSource dataSource,
+            @Value("${gnap.as.bulkhead.interaction.max-concurrent:0}") int interactionMax,
+            @Value("${gnap.as.bulkhead.interaction.acquire-timeout:5s}") Duration interactionTimeout,
+            @Value("${gnap.as.bulkhead.api.max-concurrent:0}") int apiMax,
+            @Value("${gnap.as.bulkhead.api.acquire-timeout:10s}") Duration apiTimeout,
+            GnapMetrics gnapMetrics,
+            JsonCodecs jsonCodecs) {
+        int poolSize = VirtualThreadConfig.poolSize(dataSource);
+        int interaction = interactionMax > 0 ? interactionMax : Math.max(2, poolSize / 4);
+        int api = apiMax > 0 ? apiMax : poolSize;
+
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(new BulkheadFilter(
+                new Bulkhead("interaction", interaction, interactionTimeout),
+                new Bulkhead("api", api, apiTimeout),
+                gnapMetrics,
+                jsonCodecs));
+        registration.addUrlPatterns("/gnap/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
 }
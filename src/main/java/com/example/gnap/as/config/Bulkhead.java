@@ -0,0 +1,60 @@
+package com.example.gnap.as.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named budget of concurrent requests, isolating one group of endpoints from the others.
+ * Each admitted request may hold a database connection, so a budget sized to a share of the connection pool
+ * keeps one group from taking all the connections another needs.
+ */
+class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    Bulkhead(String name, int maxConcurrent, Duration acquireTimeout) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Take a permit, waiting up to the acquire timeout. Permits are freed by requests already running on other
+     * threads, so a burst queues here, in arrival order, instead of failing.
+     *
+     * @return whether a permit was acquired; if so, {@link #release} must be called when the request completes
+     */
+    boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int getWaiting() {
+        return permits.getQueueLength();
+    }
+}
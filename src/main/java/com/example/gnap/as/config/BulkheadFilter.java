@@ -0,0 +1,83 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapException;
+import com.example.gnap.as.service.GnapMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter running the interaction UI and the machine-to-machine API in separate bulkheads.
+ * The consent and user-code pages under /gnap/interact/ and the grant and token endpoints under
+ * /gnap/grant and /gnap/token/ each get their own budget of concurrent requests, and with it of database
+ * connections, so slow consent queries cannot starve introspection. Requests over a budget are answered
+ * with 503 Service Unavailable and a GNAP too_fast error when no permit frees up within the bulkhead's acquire
+ * timeout.
+ * <p>
+ * The GNAP request limits are layered, each answering a different question:
+ * <ol>
+ *     <li>{@link RateLimitFilter}: is this client within its rate? Per client, independent of load.</li>
+ *     <li>{@link AdmissionControlFilter}: can this endpoint class take more work right now? Adaptive, shrinking
+ *     as latency rises and shedding lower-priority classes first.</li>
+ *     <li>This filter: which share of the connection pool may this group of endpoints hold? A static ceiling
+ *     under the adaptive limits: the API may use the whole pool, the interaction UI a quarter of it.</li>
+ * </ol>
+ * On virtual threads, this filter also bounds the requests in flight, which {@link ConcurrencyLimitFilter}
+ * does only when the bulkheads are disabled, so that the pool-sized budget is not enforced twice.
+ */
+class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkhead interaction;
+    private final Bulkhead api;
+    private final GnapMetrics gnapMetrics;
+    private final JsonCodecs jsonCodecs;
+
+    BulkheadFilter(Bulkhead interaction, Bulkhead api, GnapMetrics gnapMetrics, JsonCodecs jsonCodecs) {
+        this.interaction = interaction;
+        this.api = api;
+        this.gnapMetrics = gnapMetrics;
+        this.jsonCodecs = jsonCodecs;
+        for (Bulkhead bulkhead : new Bulkhead[] {interaction, api}) {
+            gnapMetrics.bulkhead(bulkhead.getName(), bulkhead.getMaxConcurrent(), bulkhead,
+                    Bulkhead::getInFlight, Bulkhead::getWaiting);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkhead(request.getRequestURI().substring(request.getContextPath().length()));
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            gnapMetrics.bulkheadRejected(bulkhead.getName());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            GnapErrorResponses.write(GnapException.SERVER_BUSY, jsonCodecs, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    Bulkhead bulkhead(String path) {
+        if (path.startsWith("/gnap/interact/")) {
+            return interaction;
+        }
+        if (path.equals("/gnap/grant") || path.startsWith("/gnap/grant/") || path.startsWith("/gnap/token/")) {
+            return api;
+        }
+        return null;
+    }
+}
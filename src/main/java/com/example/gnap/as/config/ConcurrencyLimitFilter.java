@@ -0,0 +1,67 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapException;
+import com.example.gnap.as.service.GnapMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter limiting the number of GNAP requests in flight.
+ * With virtual threads every request gets its own thread, so without a limit bursts pile up on the
+ * connection pool and fail after its connection timeout while holding open transactions and memory.
+ * Requests over the limit wait for a permit, which is cheap on a virtual thread, and are answered with
+ * 503 Service Unavailable and a GNAP too_fast error when none frees up within the acquire timeout.
+ * Rejections are counted rather than logged, as under overload a line per request would add to the load.
+ */
+class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final GnapMetrics gnapMetrics;
+    private final JsonCodecs jsonCodecs;
+
+    ConcurrencyLimitFilter(int maxRequests, Duration acquireTimeout, GnapMetrics gnapMetrics, JsonCodecs jsonCodecs) {
+        this.permits = new Semaphore(maxRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.gnapMetrics = gnapMetrics;
+        this.jsonCodecs = jsonCodecs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            gnapMetrics.concurrencyRejected();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            GnapErrorResponses.write(GnapException.SERVER_BUSY, jsonCodecs, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.controller.GnapExceptionHandler;
+import com.example.gnap.as.service.GnapException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Writes GNAP error responses from the filters, which reject requests before the controllers and their
+ * exception handler are reached, in the same shape as {@link GnapExceptionHandler}.
+ */
+final class GnapErrorResponses {
+
+    private GnapErrorResponses() {
+    }
+
+    /**
+     * Write a GNAP error as the response.
+     *
+     * @param e the rejection
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @param response the response
+     * @throws IOException if the response cannot be written
+     */
+    static void write(GnapException e, JsonCodecs jsonCodecs, HttpServletResponse response) throws IOException {
+        response.setStatus(e.getCode().getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonCodecs.errorResponseWriter().writeValue(response.getOutputStream(), new GnapExceptionHandler.ErrorResponse(
+                new GnapExceptionHandler.ErrorDetail(e.getCode().getValue(), e.getMessage())));
+    }
+}
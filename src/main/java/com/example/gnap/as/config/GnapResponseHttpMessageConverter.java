@@ -0,0 +1,56 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.ClientResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Message converter writing the GNAP response records as JSON with the prebuilt writers of {@link JsonCodecs},
+ * straight into the servlet output stream. It runs ahead of Spring's Jackson converter, which would build a
+ * writer and look up the serializer for every response; other types, CBOR responses and requests are left to
+ * the Jackson converters.
+ */
+class GnapResponseHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final Map<Class<?>, ObjectWriter> writers;
+
+    GnapResponseHttpMessageConverter(JsonCodecs jsonCodecs) {
+        super(MediaType.APPLICATION_JSON);
+        // The servlet container owns the output stream, so the writers leave it open
+        this.writers = Map.of(
+                GrantResponse.class, jsonCodecs.grantResponseWriter().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET),
+                AccessTokenResponse.class,
+                jsonCodecs.accessTokenResponseWriter().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET),
+                ClientResponse.class, jsonCodecs.clientResponseWriter().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return writers.containsKey(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("GNAP responses are not read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object response, HttpOutputMessage outputMessage) throws IOException {
+        writers.get(response.getClass()).writeValue(outputMessage.getBody(), response);
+    }
+}
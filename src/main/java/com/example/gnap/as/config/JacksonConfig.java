@@ -1,28 +1,226 @@
 package com.example.gnap.as.config;
 
+import com.example.gnap.as.controller.GnapExceptionHandler;
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.ClientResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.GrantRequest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
 
 /**
  * Jackson configuration for the GNAP Authorization Server.
- * This class provides the ObjectMapper bean used for JSON serialization/deserialization.
+ * This class provides the ObjectMapper bean used for JSON serialization/deserialization, the CBORMapper used
+ * for application/cbor bodies, and the readers and writers built from them for the hot request and response
+ * types. Both mappers share the same modules and stream read constraints, so a client gets the same binding
+ * and the same limits whichever format it negotiates.
  */
 @Configuration
 public class JacksonConfig {
 
+    /**
+     * The response types of the GNAP endpoints, whose serializers are built at startup.
+     */
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(
+            GrantResponse.class,
+            AccessTokenResponse.class,
+            ClientResponse.class,
+            GnapExceptionHandler.ErrorResponse.class);
+
+    /**
+     * Configure the limits enforced by the parser while it reads tokens, so that an oversized or deeply nested
+     * document fails before it is bound.
+     *
+     * @param maxDocumentLength the maximum size of a document
+     * @param maxStringLength the maximum length of a string value or property name
+     * @param maxNestingDepth the maximum nesting depth of objects and arrays
+     * @return the stream read constraints
+     */
+    @Bean
+    public StreamReadConstraints streamReadConstraints(
+            @Value("${gnap.as.json.max-document-length:1MB}") DataSize maxDocumentLength,
+            @Value("${gnap.as.json.max-string-length:65536}") int maxStringLength,
+            @Value("${gnap.as.json.max-nesting-depth:32}") int maxNestingDepth) {
+        return constraints(maxDocumentLength, maxStringLength, maxNestingDepth);
+    }
+
     /**
      * Configure ObjectMapper for JSON serialization/deserialization.
+     * The Blackbird module replaces reflective property access with generated lambdas. The stream read
+     * constraints apply to every parser created from the mapper's factory. It is primary because the
+     * CBORMapper is an ObjectMapper too.
+     * Creating a writer for each response type resolves its serializer into the mapper's shared cache, so
+     * the first responses do not pay for introspecting the response records, whichever converter or encoder
+     * writes them.
      *
+     * @param streamReadConstraints the stream read constraints
      * @return the configured ObjectMapper
      */
     @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    @Primary
+    public ObjectMapper objectMapper(StreamReadConstraints streamReadConstraints) {
+        ObjectMapper objectMapper = jsonMapper(streamReadConstraints);
+        RESPONSE_TYPES.forEach(objectMapper::writerFor);
         return objectMapper;
     }
-}
\ No newline at end of file
+
+    /**
+     * Configure the CBORMapper for application/cbor request and response bodies.
+     *
+     * @param streamReadConstraints the stream read constraints
+     * @return the configured CBORMapper
+     */
+    @Bean
+    public CBORMapper cborMapper(StreamReadConstraints streamReadConstraints) {
+        return cborMapperWith(streamReadConstraints);
+    }
+
+    /**
+     * Register the CBOR message converter for the servlet controllers. It replaces the one Spring MVC would
+     * create with a default mapper.
+     *
+     * @param cborMapper the CBOR mapper
+     * @return the message converter
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(CBORMapper cborMapper) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+
+    /**
+     * Bind grant request bodies with tighter stream read constraints than other bodies. The servlet JSON and
+     * CBOR converters read GrantRequest with mappers of their own, so an oversized grant request fails while
+     * its tokens are read, before it is bound or validated.
+     *
+     * @param maxDocumentLength the maximum size of a grant request
+     * @param maxStringLength the maximum length of a string value or property name in a grant request
+     * @param maxNestingDepth the maximum nesting depth of a grant request
+     * @return the MVC configurer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public WebMvcConfigurer grantRequestConverters(
+            @Value("${gnap.as.grant-request.max-document-length:64KB}") DataSize maxDocumentLength,
+            @Value("${gnap.as.grant-request.max-string-length:8192}") int maxStringLength,
+            @Value("${gnap.as.grant-request.max-nesting-depth:16}") int maxNestingDepth) {
+        StreamReadConstraints constraints = constraints(maxDocumentLength, maxStringLength, maxNestingDepth);
+        ObjectMapper grantJsonMapper = jsonMapper(constraints);
+        CBORMapper grantCborMapper = cborMapperWith(constraints);
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                for (HttpMessageConverter<?> converter : converters) {
+                    if (converter instanceof MappingJackson2CborHttpMessageConverter cbor) {
+                        cbor.registerObjectMappersForType(GrantRequest.class,
+                                mappers -> mappers.put(MediaType.APPLICATION_CBOR, grantCborMapper));
+                    } else if (converter instanceof MappingJackson2HttpMessageConverter json) {
+                        json.registerObjectMappersForType(GrantRequest.class,
+                                mappers -> mappers.put(MediaType.APPLICATION_JSON, grantJsonMapper));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Write the JSON responses of the servlet controllers with the prebuilt writers of {@link JsonCodecs},
+     * ahead of Spring's Jackson converter.
+     *
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @return the MVC configurer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public WebMvcConfigurer gnapResponseConverter(JsonCodecs jsonCodecs) {
+        GnapResponseHttpMessageConverter converter = new GnapResponseHttpMessageConverter(jsonCodecs);
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(0, converter);
+            }
+        };
+    }
+
+    /**
+     * Register the CBOR codecs for the reactive controllers, which WebFlux does not register by default.
+     *
+     * @param cborMapper the CBOR mapper
+     * @return the codec customizer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer cborCodecCustomizer(CBORMapper cborMapper) {
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        };
+    }
+
+    /**
+     * Build the readers and writers of the hot GNAP request and response types.
+     *
+     * @param objectMapper the object mapper
+     * @param cborMapper the CBOR mapper
+     * @return the readers and writers
+     */
+    @Bean
+    public JsonCodecs jsonCodecs(ObjectMapper objectMapper, CBORMapper cborMapper) {
+        return new JsonCodecs(objectMapper, cborMapper);
+    }
+
+    private static StreamReadConstraints constraints(DataSize maxDocumentLength, int maxStringLength,
+                                                     int maxNestingDepth) {
+        return StreamReadConstraints.builder()
+                .maxDocumentLength(maxDocumentLength.toBytes())
+                .maxStringLength(maxStringLength)
+                .maxNameLength(maxStringLength)
+                .maxNestingDepth(maxNestingDepth)
+                .build();
+    }
+
+    private static JsonMapper jsonMapper(StreamReadConstraints streamReadConstraints) {
+        JsonFactory jsonFactory = JsonFactory.builder()
+                .streamReadConstraints(streamReadConstraints)
+                .build();
+        return JsonMapper.builder(jsonFactory)
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static CBORMapper cborMapperWith(StreamReadConstraints streamReadConstraints) {
+        CBORFactory cborFactory = CBORFactory.builder()
+                .streamReadConstraints(streamReadConstraints)
+                .build();
+        return CBORMapper.builder(cborFactory)
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.controller.GnapExceptionHandler;
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.ClientResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.GrantRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Readers and writers for the hot GNAP request and response types, built once from the shared ObjectMapper
+ * and, for application/cbor bodies, the CBORMapper. The rate limit filter parses grant requests and writes
+ * its errors with them, and {@link GnapResponseHttpMessageConverter} writes the JSON responses of the servlet
+ * controllers with them.
+ * ObjectReader and ObjectWriter are immutable and thread-safe, and each one holds its resolved root
+ * deserializer or serializer, so a request can be parsed or a response streamed into the output without
+ * looking anything up per call.
+ */
+public class JsonCodecs {
+
+    private final ObjectReader grantRequestReader;
+    private final ObjectReader cborGrantRequestReader;
+    private final ObjectWriter grantResponseWriter;
+    private final ObjectWriter accessTokenResponseWriter;
+    private final ObjectWriter clientResponseWriter;
+    private final ObjectWriter errorResponseWriter;
+
+    public JsonCodecs(ObjectMapper objectMapper, CBORMapper cborMapper) {
+        this.grantRequestReader = objectMapper.readerFor(GrantRequest.class);
+        this.cborGrantRequestReader = cborMapper.readerFor(GrantRequest.class);
+        this.grantResponseWriter = objectMapper.writerFor(GrantResponse.class);
+        this.accessTokenResponseWriter = objectMapper.writerFor(AccessTokenResponse.class);
+        this.clientResponseWriter = objectMapper.writerFor(ClientResponse.class);
+        this.errorResponseWriter = objectMapper.writerFor(GnapExceptionHandler.ErrorResponse.class);
+    }
+
+    public ObjectReader grantRequestReader() {
+        return grantRequestReader;
+    }
+
+    public ObjectReader cborGrantRequestReader() {
+        return cborGrantRequestReader;
+    }
+
+    public ObjectWriter grantResponseWriter() {
+        return grantResponseWriter;
+    }
+
+    public ObjectWriter accessTokenResponseWriter() {
+        return accessTokenResponseWriter;
+    }
+
+    public ObjectWriter clientResponseWriter() {
+        return clientResponseWriter;
+    }
+
+    public ObjectWriter errorResponseWriter() {
+        return errorResponseWriter;
+    }
+}
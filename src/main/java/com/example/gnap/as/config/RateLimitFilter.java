@@ -0,0 +1,296 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.ClientInformation;
+import com.example.gnap.as.service.ClientService;
+import com.example.gnap.as.service.GnapException;
+import com.example.gnap.as.service.GnapMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filter rate-limiting grant and continuation requests with per-client token buckets, before they reach
+ * client authentication and the database.
+ * Every grant request is first limited per remote address, then per client key ID from the request's client
+ * object if that key ID belongs to a registered client; continuation requests are likewise limited per remote
+ * address, then per grant if the grant exists. The limits come from the client's client information, falling
+ * back to the configured defaults, and are resolved once per bucket. The key ID and grant ID are read before
+ * the request is authenticated, so anyone can claim them: the address limit comes first so that claimed IDs
+ * cannot be used to escape it, and an unknown ID gets no bucket and is remembered as unknown, so rotating IDs
+ * neither evicts real clients' buckets nor queries the database more than once per ID and refresh interval.
+ * A claimed ID of a real client or grant can still drain its bucket, at most at the claimant's address rate.
+ * Rejected requests get a GNAP too_fast error with a Retry-After header.
+ * A grant request body is read into memory only up to the maximum grant request size; a larger one is
+ * rejected as an invalid request without being buffered.
+ */
+class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String GRANT = "grant";
+    static final String CONTINUATION = "continuation";
+
+    private static final Pattern CONTINUATION_PATH = Pattern.compile("/gnap/grant/([^/]+)");
+
+    private final TokenBucketLimiter limiter;
+    private final TokenBucketLimiter.Limit addressLimit;
+    private final TokenBucketLimiter.Limit grantLimit;
+    private final TokenBucketLimiter.Limit continuationLimit;
+    private final int maxBodySize;
+    private final ClientService clientService;
+    private final GnapMetrics gnapMetrics;
+    private final JsonCodecs jsonCodecs;
+
+    RateLimitFilter(TokenBucketLimiter limiter,
+                    TokenBucketLimiter.Limit addressLimit,
+                    TokenBucketLimiter.Limit grantLimit,
+                    TokenBucketLimiter.Limit continuationLimit,
+                    int maxBodySize,
+                    ClientService clientService,
+                    GnapMetrics gnapMetrics,
+                    JsonCodecs jsonCodecs) {
+        this.limiter = limiter;
+        this.addressLimit = addressLimit;
+        this.grantLimit = grantLimit;
+        this.continuationLimit = continuationLimit;
+        this.maxBodySize = maxBodySize;
+        this.clientService = clientService;
+        this.gnapMetrics = gnapMetrics;
+        this.jsonCodecs = jsonCodecs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if ("POST".equals(request.getMethod()) && "/gnap/grant".equals(path)) {
+            byte[] body = request.getContentLengthLong() > maxBodySize
+                    ? null
+                    : request.getInputStream().readNBytes(maxBodySize + 1);
+            if (body == null || body.length > maxBodySize) {
+                writeError(GnapException.INVALID_REQUEST, response);
+                return;
+            }
+            if (!acquire(GRANT, "grant:addr:" + request.getRemoteAddr(), key -> addressLimit, response)) {
+                return;
+            }
+            CachedBodyRequest cached = new CachedBodyRequest(request, body);
+            String keyId = clientKeyId(cached.body, isCbor(request));
+            if (keyId == null || acquire(GRANT, "grant:kid:" + keyId, key -> grantLimit(keyId), response)) {
+                filterChain.doFilter(cached, response);
+            }
+            return;
+        }
+
+        Matcher matcher = CONTINUATION_PATH.matcher(path);
+        if ("GET".equals(request.getMethod()) && matcher.matches()) {
+            if (!acquire(CONTINUATION, "continuation:addr:" + request.getRemoteAddr(), key -> addressLimit, response)) {
+                return;
+            }
+            UUID grantId = grantId(matcher.group(1));
+            if (grantId != null
+                    && !acquire(CONTINUATION, "continuation:" + grantId, key -> continuationLimit(grantId), response)) {
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean acquire(String endpoint, String key, Function<String, TokenBucketLimiter.Limit> limits,
+                            HttpServletResponse response) throws IOException {
+        long waitNanos = limiter.tryAcquire(key, limits);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        gnapMetrics.rateLimited(endpoint);
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        writeError(GnapException.TOO_MANY_REQUESTS, response);
+        return false;
+    }
+
+    private void writeError(GnapException e, HttpServletResponse response) throws IOException {
+        GnapErrorResponses.write(e, jsonCodecs, response);
+    }
+
+    /**
+     * Resolve the grant limit of a client key ID.
+     *
+     * @param keyId the claimed key ID
+     * @return the limit of the client with the key ID, or null if no client has it
+     */
+    private TokenBucketLimiter.Limit grantLimit(String keyId) {
+        Optional<Client> client = clientService.findByKeyId(keyId);
+        if (client.isEmpty()) {
+            return null;
+        }
+        Optional<ClientInformation> information = Optional.ofNullable(client.get().getClientInformation());
+        return limit(grantLimit,
+                information.map(ClientInformation::getGrantRateLimit).orElse(null),
+                information.map(ClientInformation::getGrantRateBurst).orElse(null));
+    }
+
+    /**
+     * Resolve the continuation limit of a grant.
+     *
+     * @param grantId the claimed grant ID
+     * @return the limit of the grant's client, or null if no grant has the ID
+     */
+    private TokenBucketLimiter.Limit continuationLimit(UUID grantId) {
+        Optional<Client> client = clientService.findByGrantId(grantId);
+        if (client.isEmpty()) {
+            return null;
+        }
+        Optional<ClientInformation> information = Optional.ofNullable(client.get().getClientInformation());
+        return limit(continuationLimit,
+                information.map(ClientInformation::getContinuationRateLimit).orElse(null),
+                information.map(ClientInformation::getContinuationRateBurst).orElse(null));
+    }
+
+    private static TokenBucketLimiter.Limit limit(TokenBucketLimiter.Limit defaults, Double rate, Integer burst) {
+        return new TokenBucketLimiter.Limit(
+                rate != null && rate > 0 ? rate : defaults.rate(),
+                burst != null && burst > 0 ? burst : defaults.burst());
+    }
+
+    private static UUID grantId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCbor(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_CBOR.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read the key ID of the client object from a grant request body without binding the request.
+     *
+     * @param body the request body
+     * @param cbor whether the body is CBOR rather than JSON
+     * @return the client's key ID, or null if the body has none or cannot be parsed
+     */
+    String clientKeyId(byte[] body, boolean cbor) {
+        ObjectReader reader = cbor ? jsonCodecs.cborGrantRequestReader() : jsonCodecs.grantRequestReader();
+        try (JsonParser parser = reader.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("client".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String clientField = parser.currentName();
+                        JsonToken clientValue = parser.nextToken();
+                        if ("kid".equals(clientField) && clientValue == JsonToken.VALUE_STRING) {
+                            return parser.getText();
+                        }
+                        parser.skipChildren();
+                    }
+                    return null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A request whose body has been read into memory, so that it can be inspected and then read again.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.gnap.as.config;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
+import org.springframework.security.web.server.csrf.CsrfToken;
+import org.springframework.security.web.server.csrf.CsrfWebFilter;
+import org.springframework.security.web.server.csrf.ServerCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for the reactive read path, enabled by the reactive profile
+ * (spring.main.web-application-type=reactive).
+ * A reactive node serves only continuation polling and token introspection, on Netty event loops with
+ * R2DBC queries; grant requests, consent and revocation stay on servlet nodes.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveConfig {
+
+    private ConnectionFactory connectionFactory;
+
+    /**
+     * Create the database client for the read queries. Use an r2dbc:pool: URL to pool connections.
+     * The connection factory is deliberately not a bean: DataSourceAutoConfiguration backs off when one
+     * exists, and the JPA DataSource is still needed for approved grants.
+     *
+     * @param url the R2DBC URL
+     * @param username the database user
+     * @param password the database password
+     * @return the database client
+     */
+    @Bean
+    public DatabaseClient databaseClient(
+            @Value("${spring.r2dbc.url}") String url,
+            @Value("${spring.r2dbc.username:}") String username,
+            @Value("${spring.r2dbc.password:}") String password) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        connectionFactory = ConnectionFactories.get(options.build());
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Serve the reactive node from Netty event loops rather than the Tomcat that the servlet nodes need
+     * on the classpath.
+     *
+     * @return the Netty server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Write the sampled request log for the GNAP endpoints.
+     *
+     * @param requestLog the request log
+     * @return the web filter
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    WebFilter requestLoggingWebFilter(RequestLog requestLog) {
+        return (exchange, chain) -> {
+            String path = exchange.getRequest().getPath().value();
+            if (!path.startsWith("/gnap/")) {
+                return chain.filter(exchange);
+            }
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                requestLog.record(exchange.getRequest().getMethod().name(), path,
+                        status != null ? status.value() : 200, System.nanoTime() - start);
+            });
+        };
+    }
+
+    /**
+     * Load the CSRF token of actuator requests, so the XSRF-TOKEN cookie is set before the first write.
+     * Runs after the security chain, which puts the token on the exchange.
+     *
+     * @return the web filter
+     */
+    @Bean
+    WebFilter actuatorCsrfCookieWebFilter() {
+        ServerWebExchangeMatcher actuator = EndpointRequest.toAnyEndpoint();
+        return (exchange, chain) -> actuator.matches(exchange)
+                .filter(ServerWebExchangeMatcher.MatchResult::isMatch)
+                .flatMap(match -> exchange.<Mono<CsrfToken>>getAttributeOrDefault(
+                        CsrfToken.class.getName(), Mono.empty()))
+                .then(chain.filter(exchange));
+    }
+
+    /**
+     * Close the connection pool on shutdown.
+     */
+    @PreDestroy
+    public void closeConnectionFactory() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block(Duration.ofSeconds(10));
+        }
+    }
+
+    /**
+     * Configure the reactive security filter chain.
+     * Health is public; every other actuator endpoint requires the operator account from {@link ActuatorUsers},
+     * the only account this chain authenticates against. Actuator writes also need the CSRF token from the
+     * XSRF-TOKEN cookie in the X-XSRF-TOKEN header, as on servlet nodes; the GNAP endpoints, called by clients
+     * rather than browsers, do not.
+     *
+     * @param http the server HTTP security
+     * @param username the operator username
+     * @param password the operator password, encoded
+     * @return the security filter chain
+     */
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityFilterChain(
+            ServerHttpSecurity http,
+            @Value("${gnap.as.actuator.username:actuator}") String username,
+            @Value("${gnap.as.actuator.password:}") String password) {
+        List<UserDetails> users = ActuatorUsers.of(username, password);
+        return http
+                .csrf(csrf -> csrf
+                        .requireCsrfProtectionMatcher(new AndServerWebExchangeMatcher(
+                                CsrfWebFilter.DEFAULT_CSRF_MATCHER, EndpointRequest.toAnyEndpoint()))
+                        .csrfTokenRepository(CookieServerCsrfTokenRepository.withHttpOnlyFalse())
+                        .csrfTokenRequestHandler(new ServerCsrfTokenRequestAttributeHandler()))
+                .authenticationManager(new UserDetailsRepositoryReactiveAuthenticationManager(
+                        users.isEmpty() ? name -> Mono.empty() : new MapReactiveUserDetailsService(users)))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/gnap/grant/*").permitAll()
+                        .pathMatchers("/gnap/token/introspect").permitAll()
+                        .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .matchers(EndpointRequest.toAnyEndpoint()).hasRole(ActuatorUsers.ROLE)
+                        .anyExchange().authenticated())
+                .httpBasic(httpBasic -> { })
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.gnap.as.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled, structured log of GNAP requests, one line per request on the com.example.gnap.as.request logger.
+ * Server errors and slow requests are always logged; other requests are logged at the sample rate.
+ * Only the method, path, status and duration are logged: query strings, headers and bodies carry tokens
+ * and keys, and are never read. The fields are both in the message, as logfmt, and attached as key-value
+ * pairs for structured encoders.
+ */
+class RequestLog {
+
+    private static final Logger log = LoggerFactory.getLogger("com.example.gnap.as.request");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    RequestLog(double sampleRate, Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Log a completed request if it is sampled.
+     *
+     * @param method the HTTP method
+     * @param path the request path, without query string
+     * @param status the response status
+     * @param durationNanos the request duration
+     */
+    void record(String method, String path, int status, long durationNanos) {
+        if (!log.isInfoEnabled() || !sampled(status, durationNanos)) {
+            return;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        log.atInfo()
+                .addKeyValue("method", method)
+                .addKeyValue("path", path)
+                .addKeyValue("status", status)
+                .addKeyValue("duration_ms", durationMillis)
+                .log("method={} path={} status={} duration_ms={}", method, path, status, durationMillis);
+    }
+
+    boolean sampled(int status, long durationNanos) {
+        return status >= 500
+                || durationNanos >= slowThresholdNanos
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.gnap.as.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter writing the sampled request log for the servlet stack.
+ */
+class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private final RequestLog requestLog;
+
+    RequestLoggingFilter(RequestLog requestLog) {
+        this.requestLog = requestLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            requestLog.record(request.getMethod(), request.getRequestURI(), status, System.nanoTime() - start);
+        }
+    }
+}
@@ -1,40 +1,149 @@
 package com.example.gnap.as.config;
 
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 
 /**
  * Security configuration for the GNAP Authorization Server.
+ * The actuator endpoints run on their own chain, authenticated against the configured operator account only;
+ * the machine-to-machine grant and token endpoints run on a stateless chain with only the filters they
+ * need; the interaction UI and the H2 console run on the session-aware chain.
  */
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     /**
-     * Configure security filter chain.
+     * Configure the security filter chain for the actuator endpoints.
+     * Health is public for load balancers; every other endpoint, including the Prometheus scrape and JFR
+     * recordings, requires the operator account from {@link ActuatorUsers}. The chain authenticates against
+     * that account alone, so no other user can reach the actuator endpoints.
+     * Writes such as starting a JFR recording also need the CSRF token: every actuator response sets it in the
+     * XSRF-TOKEN cookie, to be sent back in the X-XSRF-TOKEN header, so a browser holding the operator's Basic
+     * credentials cannot be made to post to an endpoint by another site.
      *
      * @param http the HTTP security
+     * @param username the operator username
+     * @param password the operator password, encoded
      * @return the security filter chain
      * @throws Exception if an error occurs
      */
     @Bean
+    @Order(0)
+    public SecurityFilterChain actuatorSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${gnap.as.actuator.username:actuator}") String username,
+            @Value("${gnap.as.actuator.password:}") String password) throws Exception {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                new InMemoryUserDetailsManager(ActuatorUsers.of(username, password)));
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .authenticationManager(new ProviderManager(provider))
+            .csrf(csrf -> csrf
+                .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+                // The header carries the raw cookie value, so the token is not masked
+                .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
+            )
+            .addFilterAfter(csrfCookieFilter(), CsrfFilter.class)
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole(ActuatorUsers.ROLE)
+            )
+            .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    /**
+     * Load the deferred CSRF token, so the XSRF-TOKEN cookie is set before the first write.
+     *
+     * @return the filter
+     */
+    private static Filter csrfCookieFilter() {
+        return (request, response, chain) -> {
+            CsrfToken csrfToken = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
+            if (csrfToken != null) {
+                csrfToken.getToken();
+            }
+            chain.doFilter(request, response);
+        };
+    }
+
+    /**
+     * Configure the stateless security filter chain for the grant and token endpoints.
+     * Clients authenticate each request with their key proof, so the chain never reads or creates an
+     * HttpSession and skips CSRF, the request cache, logout and anonymous authentication. Its paths are
+     * matched with path patterns rather than through Spring MVC's handler mappings, which cost a handler lookup
+     * per matcher and request. Grant status updates still require an operator over HTTP Basic.
+     *
+     * @param http the HTTP security
+     * @return the security filter chain
+     * @throws Exception if an error occurs
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+        PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+        http
+            .securityMatcher(new OrRequestMatcher(path.matcher("/gnap/grant/**"), path.matcher("/gnap/token/**")))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(context -> context.securityContextRepository(new NullSecurityContextRepository()))
+            .csrf(csrf -> csrf.disable())
+            .requestCache(cache -> cache.disable())
+            .logout(logout -> logout.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(path.matcher("/gnap/grant"), path.matcher("/gnap/grant/*")).permitAll()
+                .requestMatchers(path.matcher("/gnap/token/**")).permitAll()
+                .anyRequest().authenticated()
+            )
+            .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    /**
+     * Configure the security filter chain for the interaction UI and everything else.
+     *
+     * @param http the HTTP security
+     * @return the security filter chain
+     * @throws Exception if an error occurs
+     */
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
-            .csrf(csrf -> csrf.ignoringRequestMatchers("/gnap/grant", "/gnap/token/**"))
             .authorizeHttpRequests(authorize -> authorize
                 // Public endpoints
-                .requestMatchers("/gnap/grant").permitAll()
-                .requestMatchers("/gnap/grant/*").permitAll()
-                .requestMatchers("/gnap/token/**").permitAll()
                 .requestMatchers("/gnap/interact/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
+            .httpBasic(Customizer.withDefaults())
             .headers(headers -> headers
                 .contentSecurityPolicy(csp -> csp.policyDirectives("frame-ancestors 'self'"))
             ); // For H2 console
@@ -0,0 +1,143 @@
+package com.example.gnap.as.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory token-bucket rate limiter keyed by string.
+ * Buckets live in a fixed number of lock stripes, each an LRU map bounded to its share of the maximum number
+ * of keys, so unrelated keys rarely contend and a flood of distinct keys evicts idle buckets instead of
+ * growing the heap. The limit of a key is resolved when its bucket is created, outside the stripe lock,
+ * and again after the refresh interval so that changed limits take effect. A key that resolves to no limit
+ * gets no bucket; it is remembered as unlimited in a separate LRU map until the refresh interval, so a flood
+ * of such keys is resolved once per key and evicts none of the buckets.
+ */
+class TokenBucketLimiter {
+
+    /**
+     * A rate limit.
+     *
+     * @param rate the sustained rate, in requests per second
+     * @param burst the bucket capacity, the number of requests allowed at once
+     */
+    record Limit(double rate, int burst) {
+    }
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long refreshNanos;
+
+    TokenBucketLimiter(int maxKeys, Duration refreshInterval) {
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Take a token from the bucket of a key.
+     *
+     * @param key the key
+     * @param limits resolves the limit of a key whose bucket is created or refreshed, or null if it is not limited
+     * @return 0 if a token was taken or the key is not limited, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(String key, Function<String, Limit> limits) {
+        Stripe stripe = stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket != null && now - bucket.resolvedAt < refreshNanos) {
+                return bucket.tryAcquire(now);
+            }
+            Long resolvedAt = stripe.unlimited.get(key);
+            if (resolvedAt != null && now - resolvedAt < refreshNanos) {
+                return 0;
+            }
+        }
+
+        // Resolving may query the database, so it must not hold the stripe
+        Limit limit = limits.apply(key);
+        synchronized (stripe) {
+            if (limit == null) {
+                stripe.buckets.remove(key);
+                stripe.unlimited.put(key, now);
+                return 0;
+            }
+            stripe.unlimited.remove(key);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refresh(limit, now);
+            }
+            return bucket.tryAcquire(now);
+        }
+    }
+
+    /**
+     * A lock stripe holding the buckets of the keys hashed to it, and when its unlimited keys were resolved.
+     */
+    private static class Stripe {
+
+        private final Map<String, Bucket> buckets;
+        private final Map<String, Long> unlimited;
+
+        Stripe(int maxKeys) {
+            this.buckets = lruMap(maxKeys);
+            this.unlimited = lruMap(maxKeys);
+        }
+
+        private static <V> Map<String, V> lruMap(int maxKeys) {
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    /**
+     * A token bucket, refilled continuously at the rate of its limit. Guarded by its stripe.
+     */
+    private static class Bucket {
+
+        private Limit limit;
+        private long resolvedAt;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.resolvedAt = now;
+            this.tokens = limit.burst();
+            this.refilledAt = now;
+        }
+
+        void refresh(Limit limit, long now) {
+            refill(now);
+            this.limit = limit;
+            this.resolvedAt = now;
+            this.tokens = Math.min(tokens, limit.burst());
+        }
+
+        long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / limit.rate() * 1_000_000_000L);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(limit.burst(), tokens + (now - refilledAt) * limit.rate() / 1_000_000_000L);
+            refilledAt = now;
+        }
+    }
+}
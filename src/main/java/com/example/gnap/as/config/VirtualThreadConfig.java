@@ -0,0 +1,77 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Configuration for the virtual-thread execution mode, enabled by the virtual-threads profile
+ * (spring.threads.virtual.enabled=true).
+ * Spring Boot moves Tomcat, @Scheduled and @Async onto virtual threads; this adds the concurrency limit
+ * that platform thread pools used to provide, sized to the connection pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Register the concurrency limit for the GNAP endpoints, unless the bulkheads already divide the pool
+     * size between them.
+     * Every GNAP request holds a connection for its duration, so the limit defaults to the pool size.
+     *
+     * @param dataSource the data source
+     * @param maxRequests an explicit limit, or 0 to use the pool size
+     * @param acquireTimeout how long a request waits for a permit
+     * @param gnapMetrics the GNAP metrics
+     * @param jsonCodecs the readers and writers of the GNAP types
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gnap.as.bulkhead.enabled", havingValue = "false")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            DataSource dataSource,
+            @Value("${gnap.as.concurrency.max-requests:0}") int maxRequests,
+            @Value("${gnap.as.concurrency.acquire-timeout:10s}") Duration acquireTimeout,
+            GnapMetrics gnapMetrics,
+            JsonCodecs jsonCodecs) {
+        int limit = maxRequests > 0 ? maxRequests : poolSize(dataSource);
+        log.info("Virtual threads enabled, limiting GNAP requests in flight to {}", limit);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, acquireTimeout, gnapMetrics, jsonCodecs));
+        registration.addUrlPatterns("/gnap/*");
+        return registration;
+    }
+
+    /**
+     * Read the maximum size of the connection pool.
+     *
+     * @param dataSource the data source
+     * @return the Hikari maximum pool size, or a default for other data sources
+     */
+    static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.gnap.as.controller;
 
+import com.example.gnap.as.dto.ClientResponse;
 import com.example.gnap.as.model.Client;
 import com.example.gnap.as.service.ClientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,7 @@ import java.util.UUID;
  */
 @RestController
 @RequestMapping("/gnap/clients")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ClientController {
 
     private static final Logger log = LoggerFactory.getLogger(ClientController.class);
@@ -33,11 +36,11 @@ public class ClientController {
      * @return list of all clients
      */
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients() {
+    public ResponseEntity<List<ClientResponse>> getAllClients() {
         log.info("Received request for all clients");
         try {
             List<Client> clients = clientService.findAll();
-            return ResponseEntity.ok(clients);
+            return ResponseEntity.ok(clients.stream().map(ClientResponse::from).toList());
         } catch (Exception e) {
             log.error("Unexpected error retrieving all clients", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -51,12 +54,12 @@ public class ClientController {
      * @return the client
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getById(@PathVariable UUID id) {
+    public ResponseEntity<ClientResponse> getById(@PathVariable UUID id) {
         log.info("Received request for client with ID: {}", id);
         try {
             Optional<Client> client = clientService.findById(id);
             return client
-                    .map(ResponseEntity::ok)
+                    .map(found -> ResponseEntity.ok(ClientResponse.from(found)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Unexpected error retrieving client", e);
@@ -71,11 +74,11 @@ public class ClientController {
      * @return the registered client
      */
     @PostMapping
-    public ResponseEntity<Client> registerClient(@RequestBody Client client) {
+    public ResponseEntity<ClientResponse> registerClient(@RequestBody Client client) {
         log.info("Received client registration request: {}", client);
         try {
             Client registeredClient = clientService.registerClient(client);
-            return ResponseEntity.status(HttpStatus.CREATED).body(registeredClient);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ClientResponse.from(registeredClient));
         } catch (IllegalArgumentException e) {
             log.error("Error registering client", e);
             return ResponseEntity.badRequest().build();
@@ -93,13 +96,13 @@ public class ClientController {
      * @return the updated client
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Client> updateClient(@PathVariable UUID id, @RequestBody Client client) {
+    public ResponseEntity<ClientResponse> updateClient(@PathVariable UUID id, @RequestBody Client client) {
         log.info("Received client update request for ID {}: {}", id, client);
         try {
             // Ensure the ID in the path matches the ID in the body
             client.setId(id);
             Client updatedClient = clientService.update(client);
-            return ResponseEntity.ok(updatedClient);
+            return ResponseEntity.ok(ClientResponse.from(updatedClient));
         } catch (IllegalArgumentException e) {
             log.error("Error updating client", e);
             return ResponseEntity.badRequest().build();
@@ -137,12 +140,12 @@ public class ClientController {
      * @return the client
      */
     @GetMapping("/instance/{instanceId}")
-    public ResponseEntity<Client> getByInstanceId(@PathVariable UUID instanceId) {
+    public ResponseEntity<ClientResponse> getByInstanceId(@PathVariable UUID instanceId) {
         log.info("Received request for client with instance ID: {}", instanceId);
         try {
             Optional<Client> client = clientService.findByInstanceId(instanceId);
             return client
-                    .map(ResponseEntity::ok)
+                    .map(found -> ResponseEntity.ok(ClientResponse.from(found)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Unexpected error retrieving client", e);
@@ -157,12 +160,12 @@ public class ClientController {
      * @return the client
      */
     @GetMapping("/key/{keyId}")
-    public ResponseEntity<Client> getByKeyId(@PathVariable String keyId) {
+    public ResponseEntity<ClientResponse> getByKeyId(@PathVariable String keyId) {
         log.info("Received request for client with key ID: {}", keyId);
         try {
             Optional<Client> client = clientService.findByKeyId(keyId);
             return client
-                    .map(ResponseEntity::ok)
+                    .map(found -> ResponseEntity.ok(ClientResponse.from(found)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Unexpected error retrieving client", e);
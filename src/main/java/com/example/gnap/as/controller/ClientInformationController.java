@@ -4,6 +4,7 @@ import com.example.gnap.as.model.ClientInformation;
 import com.example.gnap.as.service.ClientInformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,7 @@ import java.util.UUID;
  */
 @RestController
 @RequestMapping("/gnap/clientInformation")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ClientInformationController {
 
     private static final Logger log = LoggerFactory.getLogger(ClientInformationController.class);
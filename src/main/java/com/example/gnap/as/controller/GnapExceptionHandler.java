@@ -0,0 +1,71 @@
+package com.example.gnap.as.controller;
+
+import com.example.gnap.as.service.GnapException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+
+/**
+ * Renders rejected GNAP requests as GNAP error responses (RFC 9635, section 3.6) for the servlet and reactive
+ * controllers, and logs them through a rate-limited {@link RejectionLog} instead of one stack trace each.
+ */
+@RestControllerAdvice
+public class GnapExceptionHandler {
+
+    /**
+     * A GNAP error response.
+     *
+     * @param error the error code and description
+     */
+    public record ErrorResponse(ErrorDetail error) {
+    }
+
+    /**
+     * The error object of a GNAP error response.
+     *
+     * @param code the GNAP error code
+     * @param description a human-readable description
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ErrorDetail(String code, String description) {
+    }
+
+    private final RejectionLog rejectionLog;
+
+    public GnapExceptionHandler(
+            @Value("${gnap.as.rejection-log.limit:10}") int limit,
+            @Value("${gnap.as.rejection-log.interval:1m}") Duration interval) {
+        this.rejectionLog = new RejectionLog(limit, interval);
+    }
+
+    /**
+     * Render a rejection.
+     *
+     * @param e the rejection
+     * @return the GNAP error response
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleGnapException(GnapException e) {
+        rejectionLog.record(e);
+        return ResponseEntity.status(e.getCode().getStatus())
+                .body(new ErrorResponse(new ErrorDetail(e.getCode().getValue(), e.getMessage())));
+    }
+
+    /**
+     * Render a request body that could not be parsed within the stream read constraints, or that violates
+     * the request's validation constraints, as a GNAP invalid_request error.
+     *
+     * @param e the parse or validation failure
+     * @return the GNAP error response
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentNotValidException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(Exception e) {
+        return handleGnapException(GnapException.INVALID_REQUEST);
+    }
+}
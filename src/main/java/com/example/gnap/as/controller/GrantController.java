@@ -1,11 +1,16 @@
 package com.example.gnap.as.controller;
 
+import com.example.gnap.as.dto.GrantResponse;
 import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.service.GnapException;
 import com.example.gnap.as.service.GrantService;
 import com.example.gnap.as.service.TokenService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,9 +18,12 @@ import java.util.UUID;
 
 /**
  * Controller for grant management in the GNAP protocol.
+ * Grant and continuation requests and responses are JSON or CBOR, as negotiated by the Content-Type and
+ * Accept headers.
  */
 @RestController
 @RequestMapping("/gnap")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GrantController {
 
     private static final Logger log = LoggerFactory.getLogger(GrantController.class);
@@ -34,12 +42,17 @@ public class GrantController {
      * @param request the grant request
      * @return the grant response
      */
-    @PostMapping("/grant")
-    public ResponseEntity<GrantRequest> processGrantRequest(@RequestBody GrantRequest request) {
-        log.info("Received grant request: {}", request);
+    @PostMapping(value = "/grant",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<GrantResponse> processGrantRequest(@Valid @RequestBody GrantRequest request) {
+        log.debug("Received grant request");
         try {
-            GrantRequest response = grantService.processGrantRequest(request);
+            GrantResponse response = grantService.processGrantRequest(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (GnapException e) {
+            // Rendered as a GNAP error response by GnapExceptionHandler
+            throw e;
         } catch (IllegalArgumentException e) {
             log.error("Error processing grant request", e);
             return ResponseEntity.badRequest().build();
@@ -56,19 +69,19 @@ public class GrantController {
      * @param authorization the authorization header containing the continuation token
      * @return the grant response
      */
-    @GetMapping("/grant/{grantId}")
-    public ResponseEntity<GrantRequest> processContinuation(
+    @GetMapping(value = "/grant/{grantId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<GrantResponse> processContinuation(
             @PathVariable UUID grantId,
             @RequestHeader("Authorization") String authorization) {
-        log.info("Received continuation request for grant: {}", grantId);
+        log.debug("Received continuation request for grant: {}", grantId);
         try {
             // Extract token from Authorization header
             String token = authorization.replace("Bearer ", "");
-            GrantRequest response = grantService.processContinuation(grantId, token);
+            GrantResponse response = grantService.processContinuation(grantId, token);
             return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            log.error("Error processing continuation request", e);
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        } catch (GnapException e) {
+            // Rendered as a GNAP error response by GnapExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error processing continuation request", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -94,13 +107,16 @@ public class GrantController {
             String token = authorization.replace("Bearer ", "");
 
             // Validate token
-            if (tokenService.validateContinuationToken(grantId, token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            if (!tokenService.validateContinuationToken(grantId, token)) {
+                throw GnapException.INVALID_CONTINUATION_TOKEN;
             }
 
             // Update status
             grantService.updateGrantStatus(grantId, parseStatus(status));
             return ResponseEntity.ok().build();
+        } catch (GnapException e) {
+            // Rendered as a GNAP error response by GnapExceptionHandler
+            throw e;
         } catch (IllegalArgumentException e) {
             log.error("Error updating grant status", e);
             return ResponseEntity.badRequest().build();
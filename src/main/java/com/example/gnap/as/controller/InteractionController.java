@@ -6,6 +6,7 @@ import com.example.gnap.as.service.GrantService;
 import com.example.gnap.as.service.InteractionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -22,6 +23,7 @@ import java.util.UUID;
  */
 @Controller
 @RequestMapping("/gnap/interact")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class InteractionController {
 
     private static final Logger log = LoggerFactory.getLogger(InteractionController.class);
@@ -95,6 +97,38 @@ public class InteractionController {
         return ResponseEntity.ok(appLaunchInfo);
     }
 
+    /**
+     * Show the user code entry page, the URI of USER_CODE interactions.
+     *
+     * @return the user code entry page
+     */
+    @GetMapping("/user-code")
+    public String showUserCodeEntry() {
+        return "user-code-entry";
+    }
+
+    /**
+     * Resolve an entered user code to its grant and show the consent page for it.
+     *
+     * @param code the user code as entered
+     * @param model the model
+     * @return the consent page, or the entry page again if the code is invalid or expired
+     */
+    @PostMapping("/user-code")
+    public String submitUserCode(@RequestParam String code, Model model) {
+        Optional<Interaction> interaction = interactionService.findByUserCode(code);
+        if (interaction.isEmpty()) {
+            model.addAttribute("error", "Invalid or expired code");
+            return "user-code-entry";
+        }
+
+        UUID grantId = interaction.get().getGrant().getId();
+        log.info("Received user code interaction for grant: {}", grantId);
+        model.addAttribute("grant", interaction.get().getGrant());
+        model.addAttribute("interactions", interactionService.findActiveInteractions(grantId));
+        return "consent";
+    }
+
     /**
      * Handle user code interaction.
      *
@@ -118,9 +152,15 @@ public class InteractionController {
             return "error";
         }
 
-        // Generate user code
-        String userCode = generateUserCode();
-        model.addAttribute("userCode", userCode);
+        Optional<Interaction> userCodeInteraction = interactions.stream()
+                .filter(interaction -> interaction.getCode() != null)
+                .findFirst();
+        if (userCodeInteraction.isEmpty()) {
+            model.addAttribute("error", "No active user code found");
+            return "error";
+        }
+
+        model.addAttribute("userCode", InteractionService.formatUserCode(userCodeInteraction.get().getCode()));
         model.addAttribute("grant", grant.get());
 
         return "user-code";
@@ -192,6 +232,7 @@ public class InteractionController {
         GrantRequest.GrantStatus status = approved ? 
                 GrantRequest.GrantStatus.APPROVED : GrantRequest.GrantStatus.DENIED;
         grantService.updateGrantStatus(grantId, status);
+        interactionService.releaseUserCodes(grantId);
 
         if (approved) {
             // Redirect to finish endpoint
@@ -205,16 +246,6 @@ public class InteractionController {
         }
     }
 
-    /**
-     * Generate a user code.
-     *
-     * @return the generated user code
-     */
-    private String generateUserCode() {
-        // Generate a 6-digit code
-        return String.format("%06d", (int) (Math.random() * 1000000));
-    }
-
     /**
      * App launch information.
      */
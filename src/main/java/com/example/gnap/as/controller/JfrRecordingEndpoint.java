@@ -0,0 +1,205 @@
+package com.example.gnap.as.controller;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for bounded JDK Flight Recorder recordings on a live node.
+ * <ul>
+ *     <li>POST /actuator/jfr starts a recording, optionally with durationSeconds and settings (default or profile)</li>
+ *     <li>GET /actuator/jfr reports the state of the current recording</li>
+ *     <li>GET /actuator/jfr/dump downloads the recording as a .jfr file, also while it is running</li>
+ *     <li>DELETE /actuator/jfr stops the recording, keeping it available for download</li>
+ * </ul>
+ * Recordings are capped by gnap.as.jfr.max-duration and gnap.as.jfr.max-size, and include the GNAP events
+ * (GrantProcessed, TokenMinted, TokenIntrospected, ClientAuthenticated and CleanupPass).
+ * Each download gets its own dump file, deleted once the response has read it, so concurrent downloads,
+ * stop and start never touch a file that is still being sent.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final String RECORDING_NAME = "gnap-as";
+    private static final String DEFAULT_SETTINGS = "default";
+
+    @Value("${gnap.as.jfr.max-duration:10m}")
+    private Duration maxDuration;
+
+    @Value("${gnap.as.jfr.max-size:100MB}")
+    private DataSize maxSize;
+
+    private Recording recording;
+
+    /**
+     * Report the state of the current recording.
+     *
+     * @return the recording state
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    /**
+     * Start a new recording, closing any previous one.
+     *
+     * @param durationSeconds how long to record, capped at gnap.as.jfr.max-duration
+     * @param settings the JFR settings to use, default or profile
+     * @return the recording state
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long durationSeconds, @Nullable String settings) {
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(Math.min(durationSeconds, maxDuration.toSeconds()))
+                : maxDuration;
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+
+        close();
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Started JFR recording with {} settings for {}", configuration.getName(), duration);
+
+        return status();
+    }
+
+    /**
+     * Stop the current recording. Its data stays available for download until the next start.
+     *
+     * @return the recording state
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording");
+        }
+        return status();
+    }
+
+    /**
+     * Download the current recording. A running recording is dumped up to now and keeps running.
+     *
+     * @param name must be dump
+     * @return the .jfr file, or 404 when there is no recording
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String name) {
+        if (!"dump".equals(name) || recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        Path dumpFile = null;
+        try {
+            dumpFile = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            recording.dump(dumpFile);
+        } catch (IOException e) {
+            deleteQuietly(dumpFile);
+            throw new UncheckedIOException("Error dumping JFR recording", e);
+        }
+        return new WebEndpointResponse<>(new DumpResource(dumpFile));
+    }
+
+    /**
+     * Close the recording and remove its files, e.g. on shutdown.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR dump {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * A dump file owned by the response that sends it: reading it deletes the file once the stream or channel
+     * is closed. It is not exposed as a file, so the response is written from the stream rather than a
+     * zero-copy transfer that would leave the file behind. A dump that is never read is deleted on exit.
+     */
+    private static class DumpResource extends FileSystemResource {
+
+        private final Path file;
+
+        DumpResource(Path file) {
+            super(file);
+            this.file = file;
+            file.toFile().deleteOnExit();
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Files.newByteChannel(file, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
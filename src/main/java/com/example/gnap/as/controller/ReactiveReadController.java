@@ -0,0 +1,99 @@
+package com.example.gnap.as.controller;
+
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.service.GnapException;
+import com.example.gnap.as.service.GnapMetrics;
+import com.example.gnap.as.service.LogRedaction;
+import com.example.gnap.as.service.ReactiveReadService;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive controller for continuation polling and token introspection, active when the application runs
+ * as a reactive web application (the reactive profile). Serves the same paths and responses as
+ * GrantController and TokenController; grant requests, interaction and client management are served by
+ * the servlet nodes.
+ */
+@RestController
+@RequestMapping("/gnap")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadController.class);
+
+    private final ReactiveReadService reactiveReadService;
+    private final GnapMetrics metrics;
+
+    public ReactiveReadController(ReactiveReadService reactiveReadService, GnapMetrics metrics) {
+        this.reactiveReadService = reactiveReadService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Process a continuation request.
+     *
+     * @param grantId the grant ID
+     * @param authorization the authorization header containing the continuation token
+     * @return the grant response
+     */
+    @GetMapping(value = "/grant/{grantId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<GrantResponse>> processContinuation(
+            @PathVariable UUID grantId,
+            @RequestHeader("Authorization") String authorization) {
+        log.debug("Received continuation request for grant: {}", grantId);
+        // Extract token from Authorization header
+        String token = authorization.replace("Bearer ", "");
+        return reactiveReadService.processContinuation(grantId, token)
+                .map(ResponseEntity::ok)
+                // Rejections are rendered as GNAP error responses by GnapExceptionHandler
+                .onErrorResume(e -> !(e instanceof GnapException), e -> {
+                    log.error("Unexpected error processing continuation request", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    /**
+     * Introspect a token, given as a query or form parameter.
+     * Timed here as in TokenController.
+     *
+     * @param exchange the current exchange
+     * @return the token introspection information
+     */
+    @PostMapping(value = "/token/introspect", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<AccessTokenResponse>> introspectToken(ServerWebExchange exchange) {
+        String queryToken = exchange.getRequest().getQueryParams().getFirst("token");
+        Mono<String> token = queryToken != null
+                ? Mono.just(queryToken)
+                : exchange.getFormData().mapNotNull(form -> form.getFirst("token"));
+
+        return token
+                .flatMap(value -> {
+                    log.debug("Received token introspection request for token: {}", LogRedaction.token(value));
+                    Timer.Sample sample = metrics.start();
+                    return reactiveReadService.introspectToken(value)
+                            .map(accessToken -> {
+                                boolean active = Boolean.TRUE.equals(accessToken.getParameters().get("active"));
+                                metrics.stop(sample, GnapMetrics.TOKEN_INTROSPECT, active ? "active" : "inactive", Tags.empty());
+                                return ResponseEntity.ok(AccessTokenResponse.from(accessToken));
+                            })
+                            .onErrorResume(e -> {
+                                metrics.stop(sample, GnapMetrics.TOKEN_INTROSPECT, GnapMetrics.OUTCOME_ERROR, Tags.empty());
+                                log.error("Error introspecting token", e);
+                                return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                            });
+                })
+                .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.gnap.as.controller;
+
+import com.example.gnap.as.service.GnapException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate-limited log of rejected GNAP requests.
+ * Each error code logs at most a fixed number of rejections per interval, without stack traces; the first
+ * rejection of the next interval reports how many were suppressed, so a flood of rejected requests shows up
+ * as a few lines with counts instead of one line per request.
+ */
+class RejectionLog {
+
+    private static final Logger log = LoggerFactory.getLogger(RejectionLog.class);
+
+    private final int limit;
+    private final long intervalNanos;
+    private final Map<GnapException.Code, Window> windows = new EnumMap<>(GnapException.Code.class);
+
+    RejectionLog(int limit, Duration interval) {
+        this.limit = limit;
+        this.intervalNanos = interval.toNanos();
+        for (GnapException.Code code : GnapException.Code.values()) {
+            windows.put(code, new Window());
+        }
+    }
+
+    /**
+     * Log a rejection, unless the limit for its code is reached in the current interval.
+     *
+     * @param e the rejection
+     * @return whether the rejection was logged
+     */
+    boolean record(GnapException e) {
+        Window window = windows.get(e.getCode());
+        long suppressed = window.acquire(System.nanoTime());
+        if (suppressed < 0) {
+            return false;
+        }
+        if (suppressed > 0) {
+            log.warn("Rejected request with {}: {} ({} more suppressed)",
+                    e.getCode().getValue(), e.getMessage(), suppressed);
+        } else {
+            log.warn("Rejected request with {}: {}", e.getCode().getValue(), e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * The rejections of one error code in the current interval.
+     */
+    private class Window {
+
+        private long start = Long.MIN_VALUE;
+        private int logged;
+        private long suppressed;
+
+        /**
+         * Count a rejection against the current interval.
+         *
+         * @param now the current nano time
+         * @return the number of rejections suppressed since the last logged one, or -1 to suppress this one
+         */
+        synchronized long acquire(long now) {
+            if (start == Long.MIN_VALUE || now - start >= intervalNanos) {
+                start = now;
+                logged = 0;
+            }
+            if (logged >= limit) {
+                suppressed++;
+                return -1;
+            }
+            logged++;
+            long count = suppressed;
+            suppressed = 0;
+            return count;
+        }
+    }
+}
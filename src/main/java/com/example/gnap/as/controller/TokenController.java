@@ -1,10 +1,17 @@
 package com.example.gnap.as.controller;
 
+import com.example.gnap.as.dto.AccessTokenResponse;
 import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.service.GnapMetrics;
+import com.example.gnap.as.service.LogRedaction;
 import com.example.gnap.as.service.TokenService;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,32 +20,41 @@ import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller for token management in the GNAP protocol.
+ * Introspection responses are JSON or CBOR, as negotiated by the Accept header.
  */
 @RestController
 @RequestMapping("/gnap")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TokenController {
 
     private static final Logger log = LoggerFactory.getLogger(TokenController.class);
 
     private final TokenService tokenService;
+    private final GnapMetrics metrics;
 
-    public TokenController(TokenService tokenService) {
+    public TokenController(TokenService tokenService, GnapMetrics metrics) {
         this.tokenService = tokenService;
+        this.metrics = metrics;
     }
 
     /**
      * Introspect a token.
+     * Timed here rather than in the service so that the timer includes the transaction.
      *
      * @param token the token to introspect
      * @return the token introspection information
      */
-    @PostMapping("/token/introspect")
-    public ResponseEntity<AccessToken> introspectToken(@RequestParam String token) {
-        log.info("Received token introspection request for token: {}", token);
+    @PostMapping(value = "/token/introspect", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<AccessTokenResponse> introspectToken(@RequestParam String token) {
+        log.debug("Received token introspection request for token: {}", LogRedaction.token(token));
+        Timer.Sample sample = metrics.start();
         try {
             AccessToken accessToken = tokenService.introspectToken(token);
-            return ResponseEntity.ok(accessToken);
+            boolean active = Boolean.TRUE.equals(accessToken.getParameters().get("active"));
+            metrics.stop(sample, GnapMetrics.TOKEN_INTROSPECT, active ? "active" : "inactive", Tags.empty());
+            return ResponseEntity.ok(AccessTokenResponse.from(accessToken));
         } catch (Exception e) {
+            metrics.stop(sample, GnapMetrics.TOKEN_INTROSPECT, GnapMetrics.OUTCOME_ERROR, Tags.empty());
             log.error("Error introspecting token", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -46,21 +62,25 @@ public class TokenController {
 
     /**
      * Revoke a token.
+     * Timed here rather than in the service so that the timer includes the transaction.
      *
      * @param token the token to revoke
      * @return a success response
      */
     @PostMapping("/token/revoke")
     public ResponseEntity<Void> revokeToken(@RequestParam String token) {
-        log.info("Received token revocation request for token: {}", token);
+        log.info("Received token revocation request for token: {}", LogRedaction.token(token));
+        Timer.Sample sample = metrics.start();
         try {
             boolean revoked = tokenService.revokeToken(token);
+            metrics.stop(sample, GnapMetrics.TOKEN_REVOKE, revoked ? "revoked" : "not_found", Tags.empty());
             if (revoked) {
                 return ResponseEntity.ok().build();
             } else {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
+            metrics.stop(sample, GnapMetrics.TOKEN_REVOKE, GnapMetrics.OUTCOME_ERROR, Tags.empty());
             log.error("Error revoking token", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
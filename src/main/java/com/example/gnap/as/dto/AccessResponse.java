@@ -0,0 +1,36 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * An access right in a GNAP response (RFC 9635, section 8).
+ *
+ * @param type the access type
+ * @param actions the permitted actions
+ * @param locations the locations of the resource
+ * @param datatypes the kinds of data
+ * @param resourceServer the resource server the access applies to
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccessResponse(
+        String type,
+        List<String> actions,
+        List<String> locations,
+        List<String> datatypes,
+        @JsonProperty("resource_server") String resourceServer) {
+
+    /**
+     * Copy the access fields of a resource.
+     *
+     * @param resource the resource
+     * @return the access response
+     */
+    public static AccessResponse from(Resource resource) {
+        return new AccessResponse(resource.getType(), resource.getActionsList(), resource.getLocationsList(),
+                resource.getDataTypesList(), resource.getResourceServer());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.model.AccessToken;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An access token in a grant response (RFC 9635, section 3.2.1), or the result of introspecting one.
+ *
+ * @param value the token value
+ * @param label the token label, for multiple access tokens
+ * @param access the access rights of the token
+ * @param expiresIn the seconds until the token expires
+ * @param parameters the introspection parameters
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccessTokenResponse(
+        String value,
+        String label,
+        List<AccessResponse> access,
+        @JsonProperty("expires_in") Integer expiresIn,
+        Map<String, Object> parameters) {
+
+    /**
+     * Copy the API fields of an access token.
+     *
+     * @param accessToken the access token
+     * @return the access token response
+     */
+    public static AccessTokenResponse from(AccessToken accessToken) {
+        List<AccessResponse> access = accessToken.getAccess() != null
+                ? accessToken.getAccess().stream().map(AccessResponse::from).toList()
+                : null;
+        return new AccessTokenResponse(accessToken.getTokenValue(), accessToken.getLabel(), access,
+                accessToken.getExpiresIn(), accessToken.getParameters());
+    }
+}
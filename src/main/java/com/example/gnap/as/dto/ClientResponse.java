@@ -0,0 +1,37 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.model.Client;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A registered client, as returned by the client management endpoints.
+ *
+ * @param id the client ID
+ * @param instanceId the client instance ID
+ * @param displayName the display name
+ * @param keyId the key ID
+ * @param key the key presented at registration, if any
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClientResponse(
+        UUID id,
+        @JsonProperty("instance_id") UUID instanceId,
+        String displayName,
+        @JsonProperty("kid") String keyId,
+        Map<String, Object> key) {
+
+    /**
+     * Copy the API fields of a client.
+     *
+     * @param client the client
+     * @return the client response
+     */
+    public static ClientResponse from(Client client) {
+        return new ClientResponse(client.getId(), client.getInstanceId(), client.getDisplayName(),
+                client.getKeyId(), client.getKey());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A grant response (RFC 9635, section 3), returned for grant and continuation requests.
+ * Built by the grant service while processing the request, so that no entity is allocated to carry the
+ * response and serialization never touches an entity or its associations.
+ *
+ * @param instanceId the grant ID
+ * @param continueInfo how to continue the grant
+ * @param interact how to interact with the resource owner
+ * @param accessToken the access tokens, once the grant is approved
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GrantResponse(
+        @JsonProperty("instance_id") UUID instanceId,
+        @JsonProperty("continue") Continue continueInfo,
+        Interact interact,
+        @JsonProperty("access_token") List<AccessTokenResponse> accessToken) {
+
+    /**
+     * How to continue a grant (RFC 9635, section 3.1).
+     *
+     * @param uri the continuation URI
+     * @param accessToken the continuation access token
+     * @param waitSeconds the seconds to wait before continuing
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Continue(String uri, @JsonProperty("access_token") String accessToken,
+                           @JsonProperty("wait") Integer waitSeconds) {
+    }
+
+    /**
+     * How to interact with the resource owner (RFC 9635, section 3.3).
+     *
+     * @param redirect the redirect URI
+     * @param app the application URI
+     * @param userCode the user code
+     * @param finish how the AS signals the end of the interaction
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Interact(String redirect, String app, @JsonProperty("user_code") UserCode userCode,
+                           Finish finish) {
+
+        /**
+         * Copy the interaction response built by the interaction service.
+         *
+         * @param interactInfo the interaction response
+         * @return the interaction
+         */
+        public static Interact from(GrantRequest.InteractInfo interactInfo) {
+            Interaction.UserCode userCode = interactInfo.getUserCode();
+            Interaction.Finish finish = interactInfo.getFinish();
+            return new Interact(interactInfo.getRedirect(), interactInfo.getApp(),
+                    userCode != null ? new UserCode(userCode.getCode(), userCode.getUri()) : null,
+                    finish != null ? new Finish(finish.getUri(), finish.getMethod()) : null);
+        }
+    }
+
+    /**
+     * A user code to display to the resource owner.
+     *
+     * @param code the user code
+     * @param uri the URI to enter it at
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record UserCode(String code, String uri) {
+    }
+
+    /**
+     * How the AS signals the end of the interaction.
+     *
+     * @param uri the finish URI
+     * @param method the finish method
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Finish(String uri, String method) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.gnap.as.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entity representing an interned access definition in the GNAP protocol.
+ * An access definition is the shape of a requested access right (type, resource server,
+ * actions, locations and data types). Definitions are content-addressed by a canonical hash
+ * and shared by every grant that requests the same shape, so instances are immutable.
+ */
+@Entity
+@Table(name = "access_definition", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_access_definition_hash", columnNames = "hash")
+})
+public class AccessDefinition {
+
+    private static final String FIELD_SEPARATOR = "\u001e";
+    private static final String VALUE_SEPARATOR = "\u001f";
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "hash", nullable = false, updatable = false, length = 64)
+    private String hash;
+
+    @Column(name = "type", nullable = false, updatable = false)
+    private String type;
+
+    @Column(name = "resource_server", updatable = false)
+    private String resourceServer;
+
+    @Column(name = "actions", updatable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<String> actions;
+
+    @Column(name = "locations", updatable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<String> locations;
+
+    @Column(name = "data_types", updatable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<String> dataTypes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected AccessDefinition() {
+    }
+
+    /**
+     * Create a canonical access definition.
+     * Actions, locations and data types are sorted and de-duplicated, since GNAP treats them as sets.
+     *
+     * @param type the access type
+     * @param resourceServer the resource server, or null
+     * @param actions the actions, or null
+     * @param locations the locations, or null
+     * @param dataTypes the data types, or null
+     */
+    public AccessDefinition(String type, String resourceServer,
+                            List<String> actions, List<String> locations, List<String> dataTypes) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.resourceServer = resourceServer;
+        this.actions = canonicalize(actions);
+        this.locations = canonicalize(locations);
+        this.dataTypes = canonicalize(dataTypes);
+        this.hash = canonicalHash(this.type, this.resourceServer, this.actions, this.locations, this.dataTypes);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getResourceServer() {
+        return resourceServer;
+    }
+
+    public List<String> getActions() {
+        return actions;
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    public List<String> getDataTypes() {
+        return dataTypes;
+    }
+
+    @SuppressWarnings("unused")
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @PostLoad
+    void freezeLists() {
+        this.actions = canonicalize(actions);
+        this.locations = canonicalize(locations);
+        this.dataTypes = canonicalize(dataTypes);
+    }
+
+    private static List<String> canonicalize(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Compute the SHA-256 hash of the canonical form of an access definition.
+     * The V1_5 migration reproduces this with concat_ws over chr(30)/chr(31) when backfilling.
+     */
+    private static String canonicalHash(String type, String resourceServer,
+                                        List<String> actions, List<String> locations, List<String> dataTypes) {
+        String canonical = String.join(FIELD_SEPARATOR,
+                type,
+                resourceServer != null ? resourceServer : "",
+                actions != null ? String.join(VALUE_SEPARATOR, actions) : "",
+                locations != null ? String.join(VALUE_SEPARATOR, locations) : "",
+                dataTypes != null ? String.join(VALUE_SEPARATOR, dataTypes) : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccessDefinition that = (AccessDefinition) o;
+        return Objects.equals(hash, that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "AccessDefinition{" +
+                "id=" + id +
+                ", type='" + type + '\'' +
+                ", resourceServer='" + resourceServer + '\'' +
+                '}';
+    }
+}
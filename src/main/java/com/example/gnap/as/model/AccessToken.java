@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.Valid;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,12 +22,16 @@ import java.util.UUID;
  * Access tokens are used to access protected resources.
  */
 @Entity
-@Table(name = "access_token")
+@Table(name = "access_token", indexes = {
+        @Index(name = "idx_access_token_token_value", columnList = "token_value"),
+        @Index(name = "idx_access_token_grant_id", columnList = "grant_id"),
+        @Index(name = "idx_access_token_expires_at", columnList = "expires_at")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class AccessToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @JsonIgnore
     private UUID id;
 
@@ -34,7 +40,7 @@ public class AccessToken {
     @JsonIgnore
     private GrantRequest grant;
 
-    @Column(name = "token_value", nullable = false)
+    @Column(name = "token_value", nullable = false, length = 2048)
     @JsonProperty("value")
     private String tokenValue;
 
@@ -62,9 +68,12 @@ public class AccessToken {
 
     // Transient fields for API
     @JsonProperty("access")
+    @Size(max = 32)
+    @Valid
     private transient List<Resource> access;
 
     @JsonProperty("label")
+    @Size(max = 256)
     private transient String label;
 
     @JsonProperty("parameters")
@@ -16,12 +16,15 @@ import java.util.UUID;
  * A client is an application that requests access to resources.
  */
 @Entity
-@Table(name = "client")
+@Table(name = "client", indexes = {
+        @Index(name = "idx_client_key_id", columnList = "key_id"),
+        @Index(name = "idx_client_instance_id", columnList = "instance_id")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Client {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "instance_id")
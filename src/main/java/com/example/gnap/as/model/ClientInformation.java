@@ -14,12 +14,14 @@ import java.util.UUID;
  * This was refactored from the inner Display class of Client.
  */
 @Entity
-@Table(name = "client_information")
+@Table(name = "client_information", indexes = {
+        @Index(name = "idx_client_information_client_id", columnList = "client_id")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ClientInformation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     private UUID clientId;
@@ -34,6 +36,28 @@ public class ClientInformation {
     @JsonProperty("logo_uri")
     private String logoUri;
 
+    /**
+     * Grant requests per second allowed for the client's key, or null for the default.
+     */
+    @Column(name = "grant_rate_limit")
+    @JsonProperty("grant_rate_limit")
+    private Double grantRateLimit;
+
+    @Column(name = "grant_rate_burst")
+    @JsonProperty("grant_rate_burst")
+    private Integer grantRateBurst;
+
+    /**
+     * Continuation requests per second allowed for each of the client's grants, or null for the default.
+     */
+    @Column(name = "continuation_rate_limit")
+    @JsonProperty("continuation_rate_limit")
+    private Double continuationRateLimit;
+
+    @Column(name = "continuation_rate_burst")
+    @JsonProperty("continuation_rate_burst")
+    private Integer continuationRateBurst;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -85,6 +109,38 @@ public class ClientInformation {
         this.logoUri = logoUri;
     }
 
+    public Double getGrantRateLimit() {
+        return grantRateLimit;
+    }
+
+    public void setGrantRateLimit(Double grantRateLimit) {
+        this.grantRateLimit = grantRateLimit;
+    }
+
+    public Integer getGrantRateBurst() {
+        return grantRateBurst;
+    }
+
+    public void setGrantRateBurst(Integer grantRateBurst) {
+        this.grantRateBurst = grantRateBurst;
+    }
+
+    public Double getContinuationRateLimit() {
+        return continuationRateLimit;
+    }
+
+    public void setContinuationRateLimit(Double continuationRateLimit) {
+        this.continuationRateLimit = continuationRateLimit;
+    }
+
+    public Integer getContinuationRateBurst() {
+        return continuationRateBurst;
+    }
+
+    public void setContinuationRateBurst(Integer continuationRateBurst) {
+        this.continuationRateBurst = continuationRateBurst;
+    }
+
     @SuppressWarnings("unused")
     public LocalDateTime getCreatedAt() {
         return createdAt;
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.Valid;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,14 +15,20 @@ import java.util.*;
 /**
  * Entity representing a grant request in the GNAP protocol.
  * A grant request is the core concept for authorization in GNAP.
+ * The API fields of an incoming request carry Bean Validation constraints that bound its size; the grant
+ * controller checks them before the request reaches the service.
  */
 @Entity
-@Table(name = "grant_request")
+@Table(name = "grant_request", indexes = {
+        @Index(name = "idx_grant_request_client_user_status", columnList = "client_id, user_id, status"),
+        @Index(name = "idx_grant_request_user_id", columnList = "user_id"),
+        @Index(name = "idx_grant_request_expires_at", columnList = "expires_at")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class GrantRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @JsonProperty("instance_id")
     private UUID id;
 
@@ -73,6 +81,10 @@ public class GrantRequest {
     private LocalDateTime updatedAt;
 
     // Transient fields for API
+    @JsonProperty(value = "client", access = JsonProperty.Access.WRITE_ONLY)
+    @Valid
+    private transient ClientInfo clientInfo;
+
     @JsonProperty("continue")
     private transient ContinueInfo continueInfo;
 
@@ -80,12 +92,15 @@ public class GrantRequest {
     private transient InteractInfo interactInfo;
 
     @JsonProperty("access_token")
+    @Size(max = 16)
+    @Valid
     private transient List<AccessToken> accessTokenList;
 
     @JsonProperty("subject")
     private transient Subject subject;
 
     @JsonProperty("state")
+    @Size(max = 16)
     private transient Map<String, Object> stateMap;
 
     public GrantRequest() {
@@ -125,6 +140,14 @@ public class GrantRequest {
         this.client = client;
     }
 
+    public ClientInfo getClientInfo() {
+        return clientInfo;
+    }
+
+    public void setClientInfo(ClientInfo clientInfo) {
+        this.clientInfo = clientInfo;
+    }
+
     public GrantStatus getStatus() {
         return status;
     }
@@ -304,6 +327,69 @@ public class GrantRequest {
         EXPIRED
     }
 
+    /**
+     * Inner class for the client object of a grant request.
+     * Only these fields are bound from the request; the persisted client is looked up by its key ID,
+     * never deserialized from the request.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ClientInfo {
+        @JsonProperty("instance_id")
+        private UUID instanceId;
+
+        @Size(max = 256)
+        private String kid;
+
+        @Size(max = 16)
+        private Map<String, Object> key;
+
+        public ClientInfo() {
+        }
+
+        public ClientInfo(UUID instanceId, String kid, Map<String, Object> key) {
+            this.instanceId = instanceId;
+            this.kid = kid;
+            this.key = key;
+        }
+
+        public UUID getInstanceId() {
+            return instanceId;
+        }
+
+        public void setInstanceId(UUID instanceId) {
+            this.instanceId = instanceId;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public void setKid(String kid) {
+            this.kid = kid;
+        }
+
+        public Map<String, Object> getKey() {
+            return key;
+        }
+
+        public void setKey(Map<String, Object> key) {
+            this.key = key;
+        }
+
+        /**
+         * Map the presented client object to a new, unsaved client.
+         *
+         * @return the client
+         */
+        public Client toClient() {
+            Client client = new Client();
+            client.setInstanceId(instanceId);
+            client.setKeyId(kid);
+            client.setKey(key);
+            return client;
+        }
+    }
+
     /**
      * Inner class for continuation information.
      */
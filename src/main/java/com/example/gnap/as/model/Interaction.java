@@ -16,12 +16,16 @@ import java.util.UUID;
  * Interactions are used for user consent and authentication.
  */
 @Entity
-@Table(name = "interaction")
+@Table(name = "interaction", indexes = {
+        @Index(name = "idx_interaction_grant_expires", columnList = "grant_id, expires_at"),
+        @Index(name = "idx_interaction_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_interaction_user_code", columnList = "user_code", unique = true)
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Interaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @JsonIgnore
     private UUID id;
 
@@ -47,6 +51,13 @@ public class Interaction {
     @JsonIgnore
     private String hashMethod;
 
+    /**
+     * The code the user enters for a USER_CODE interaction, normalized; null for other interactions.
+     */
+    @Column(name = "user_code", length = 16)
+    @JsonIgnore
+    private String code;
+
     @Column(name = "expires_at", nullable = false)
     @JsonIgnore
     private LocalDateTime expiresAt;
@@ -126,6 +137,14 @@ public class Interaction {
         this.hashMethod = hashMethod;
     }
 
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
     public LocalDateTime getExpiresAt() {
         return expiresAt;
     }
@@ -179,7 +198,8 @@ public class Interaction {
     public UserCode getUserCode() {
         if (interactionType == InteractionType.USER_CODE) {
             UserCode userCode = new UserCode();
-            userCode.setCode(interactionUrl);
+            userCode.setCode(code);
+            userCode.setUri(interactionUrl);
             return userCode;
         }
         return null;
@@ -4,27 +4,31 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Entity representing a resource in the GNAP protocol.
  * Resources are what clients request access to.
+ * A persisted resource only links a grant to a shared {@link AccessDefinition};
+ * the access fields are transient and only hold the values of an incoming request.
  */
 @Entity
-@Table(name = "resource")
+@Table(name = "resource", indexes = {
+        @Index(name = "idx_resource_grant_id", columnList = "grant_id"),
+        @Index(name = "idx_resource_access_definition_id", columnList = "access_definition_id")
+})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Resource {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @JsonIgnore
     private UUID id;
 
@@ -33,24 +37,11 @@ public class Resource {
     @JsonIgnore
     private GrantRequest grant;
 
-    @Column(name = "type", nullable = false)
-    private String type;
-
-    @Column(name = "resource_server")
-    @JsonProperty("resource_server")
-    private String resourceServer;
-
-    @Column(name = "actions")
-    @JsonIgnore
-    private String actions;
-
-    @Column(name = "locations")
+    // Eagerly fetched: definitions are small, shared and always needed to mint or introspect tokens
+    @ManyToOne
+    @JoinColumn(name = "access_definition_id", nullable = false)
     @JsonIgnore
-    private String locations;
-
-    @Column(name = "data_types")
-    @JsonIgnore
-    private String dataTypes;
+    private AccessDefinition accessDefinition;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -62,19 +53,30 @@ public class Resource {
     @JsonIgnore
     private LocalDateTime updatedAt;
 
+    // Transient fields for API
+    @Size(max = 256)
+    private transient String type;
+
+    @Size(max = 2048)
+    private transient String resourceServer;
+
+    @Size(max = 32)
+    private transient List<@Size(max = 256) String> actions;
+
+    @Size(max = 32)
+    private transient List<@Size(max = 2048) String> locations;
+
+    @Size(max = 32)
+    private transient List<@Size(max = 256) String> dataTypes;
+
     public Resource() {
     }
 
-    public Resource(UUID id, GrantRequest grant, String type, String resourceServer, 
-                   String actions, String locations, String dataTypes, 
+    public Resource(UUID id, GrantRequest grant, AccessDefinition accessDefinition,
                    LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.grant = grant;
-        this.type = type;
-        this.resourceServer = resourceServer;
-        this.actions = actions;
-        this.locations = locations;
-        this.dataTypes = dataTypes;
+        this.accessDefinition = accessDefinition;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -95,97 +97,62 @@ public class Resource {
         this.grant = grant;
     }
 
+    public AccessDefinition getAccessDefinition() {
+        return accessDefinition;
+    }
+
+    public void setAccessDefinition(AccessDefinition accessDefinition) {
+        this.accessDefinition = accessDefinition;
+    }
+
+    @JsonProperty("type")
     public String getType() {
-        return type;
+        return accessDefinition != null ? accessDefinition.getType() : type;
     }
 
+    @JsonProperty("type")
     public void setType(String type) {
         this.type = type;
     }
 
+    @JsonProperty("resource_server")
     public String getResourceServer() {
-        return resourceServer;
+        return accessDefinition != null ? accessDefinition.getResourceServer() : resourceServer;
     }
 
+    @JsonProperty("resource_server")
     public void setResourceServer(String resourceServer) {
         this.resourceServer = resourceServer;
     }
 
-    public String getActions() {
-        return actions;
-    }
-
-    public void setActions(String actions) {
-        this.actions = actions;
-    }
-
     @JsonProperty("actions")
     public List<String> getActionsList() {
-        if (actions == null || actions.isEmpty()) {
-            return null;
-        }
-        return Arrays.stream(actions.split(","))
-                .collect(Collectors.toList());
+        return accessDefinition != null ? accessDefinition.getActions() : actions;
     }
 
+    @JsonProperty("actions")
     public void setActionsList(List<String> actionsList) {
-        if (actionsList == null || actionsList.isEmpty()) {
-            this.actions = null;
-        } else {
-            this.actions = String.join(",", actionsList);
-        }
-    }
-
-    @SuppressWarnings("unused")
-    public String getLocations() {
-        return locations;
-    }
-
-    @SuppressWarnings("unused")
-    public void setLocations(String locations) {
-        this.locations = locations;
+        this.actions = immutableOrNull(actionsList);
     }
 
     @JsonProperty("locations")
     public List<String> getLocationsList() {
-        if (locations == null || locations.isEmpty()) {
-            return null;
-        }
-        return Arrays.stream(locations.split(","))
-                .collect(Collectors.toList());
+        return accessDefinition != null ? accessDefinition.getLocations() : locations;
     }
 
+    @JsonProperty("locations")
     public void setLocationsList(List<String> locationsList) {
-        if (locationsList == null || locationsList.isEmpty()) {
-            this.locations = null;
-        } else {
-            this.locations = String.join(",", locationsList);
-        }
-    }
-
-    public String getDataTypes() {
-        return dataTypes;
-    }
-
-    public void setDataTypes(String dataTypes) {
-        this.dataTypes = dataTypes;
+        this.locations = immutableOrNull(locationsList);
     }
 
     @JsonProperty("datatypes")
     public List<String> getDataTypesList() {
-        if (dataTypes == null || dataTypes.isEmpty()) {
-            return null;
-        }
-        return Arrays.stream(dataTypes.split(","))
-                .collect(Collectors.toList());
+        return accessDefinition != null ? accessDefinition.getDataTypes() : dataTypes;
     }
 
+    @JsonProperty("datatypes")
     public void setDataTypesList(List<String> dataTypesList) {
-        if (dataTypesList == null || dataTypesList.isEmpty()) {
-            this.dataTypes = null;
-        } else {
-            this.dataTypes = String.join(",", dataTypesList);
-        }
+        this.dataTypes = immutableOrNull(dataTypesList);
     }
 
     public LocalDateTime getCreatedAt() {
@@ -204,6 +171,10 @@ public class Resource {
         this.updatedAt = updatedAt;
     }
 
+    private static List<String> immutableOrNull(List<String> values) {
+        return values == null || values.isEmpty() ? null : List.copyOf(values);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -221,8 +192,8 @@ public class Resource {
     public String toString() {
         return "Resource{" +
                 "id=" + id +
-                ", type='" + type + '\'' +
-                ", resourceServer='" + resourceServer + '\'' +
+                ", type='" + getType() + '\'' +
+                ", resourceServer='" + getResourceServer() + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,73 @@
+package com.example.gnap.as.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Hibernate identifier generator producing time-ordered UUIDv7 values (RFC 9562).
+ * The leading 48 bits hold the Unix epoch milliseconds, so new rows land at the
+ * right-hand edge of primary key and foreign key indexes instead of being scattered
+ * across the whole B-tree. Within a single millisecond the 12-bit {@code rand_a}
+ * field is used as a counter, keeping identifiers monotonic per JVM.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final Object LOCK = new Object();
+
+    private static long lastTimestamp;
+
+    private static int sequence;
+
+    /**
+     * Generate a new UUIDv7.
+     *
+     * @return the generated UUID
+     */
+    public static UUID nextUuid() {
+        long timestamp;
+        int counter;
+
+        synchronized (LOCK) {
+            timestamp = System.currentTimeMillis();
+            if (timestamp > lastTimestamp) {
+                lastTimestamp = timestamp;
+                // Start each millisecond from a random point in the lower half to leave room for the counter
+                sequence = RANDOM.nextInt(0x800);
+            } else if (++sequence > 0xFFF) {
+                // Counter exhausted (or clock moved backwards): borrow the next millisecond
+                lastTimestamp++;
+                sequence = 0;
+            }
+            timestamp = lastTimestamp;
+            counter = sequence;
+        }
+
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return currentValue != null ? currentValue : nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.gnap.as.repository;
+
+import com.example.gnap.as.model.AccessDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for AccessDefinition entity.
+ */
+@Repository
+public interface AccessDefinitionRepository extends JpaRepository<AccessDefinition, UUID> {
+
+    /**
+     * Find an access definition by its canonical hash.
+     *
+     * @param hash the canonical hash
+     * @return the access definition if found
+     */
+    Optional<AccessDefinition> findByHash(String hash);
+
+    /**
+     * Insert an access definition unless one with the same hash already exists.
+     * A concurrent insert of the same shape is skipped instead of failing the caller's transaction.
+     *
+     * @param id the ID for a new access definition
+     * @param hash the canonical hash
+     * @param type the access type
+     * @param resourceServer the resource server, or null
+     * @param actions the canonical actions, empty if none
+     * @param locations the canonical locations, empty if none
+     * @param dataTypes the canonical data types, empty if none
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO access_definition (id, hash, type, resource_server, actions, locations, data_types, created_at) " +
+            "VALUES (:id, :hash, :type, :resourceServer, :actions, :locations, :dataTypes, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("hash") String hash,
+                       @Param("type") String type,
+                       @Param("resourceServer") String resourceServer,
+                       @Param("actions") String[] actions,
+                       @Param("locations") String[] locations,
+                       @Param("dataTypes") String[] dataTypes);
+}
@@ -2,6 +2,7 @@ package com.example.gnap.as.repository;
 
 import com.example.gnap.as.model.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -28,4 +29,13 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
      * @return the client if found
      */
     Optional<Client> findByKeyId(String keyId);
+
+    /**
+     * Find the client that made a grant request.
+     *
+     * @param grantId the grant ID
+     * @return the client if the grant exists
+     */
+    @Query("SELECT g.client FROM GrantRequest g WHERE g.id = ?1")
+    Optional<Client> findByGrantId(UUID grantId);
 }
@@ -48,6 +48,16 @@ public interface GrantRequestRepository extends JpaRepository<GrantRequest, UUID
      */
     List<GrantRequest> findByExpiresAtBefore(LocalDateTime now);
 
+    /**
+     * Find grants that have expired but are not yet marked as expired.
+     * Served by the partial index on expires_at for non-expired grants.
+     *
+     * @param now the current time
+     * @param status the status to exclude
+     * @return the list of expired grants
+     */
+    List<GrantRequest> findByExpiresAtBeforeAndStatusNot(LocalDateTime now, GrantStatus status);
+
     /**
      * Find active grants by client ID and user ID.
      *
@@ -58,4 +68,13 @@ public interface GrantRequestRepository extends JpaRepository<GrantRequest, UUID
      */
     @Query("SELECT g FROM GrantRequest g WHERE g.client.id = ?1 AND g.userId = ?2 AND g.status IN ?3")
     List<GrantRequest> findActiveGrantsByClientIdAndUserId(UUID clientId, UUID userId, List<GrantStatus> statuses);
+
+    /**
+     * Find grants that requested a resource with the given action.
+     *
+     * @param action the action
+     * @return the list of grants
+     */
+    @Query("SELECT DISTINCT r.grant FROM Resource r WHERE array_contains(r.accessDefinition.actions, ?1)")
+    List<GrantRequest> findByResourceAction(String action);
 }
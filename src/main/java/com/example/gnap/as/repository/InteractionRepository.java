@@ -3,6 +3,9 @@ package com.example.gnap.as.repository;
 import com.example.gnap.as.model.Interaction;
 import com.example.gnap.as.model.Interaction.InteractionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -22,7 +25,6 @@ public interface InteractionRepository extends JpaRepository<Interaction, String
      * @param grantId the grant ID
      * @return the list of interactions
      */
-    @SuppressWarnings("unused")
     List<Interaction> findByGrantId(UUID grantId);
     
     /**
@@ -43,6 +45,56 @@ public interface InteractionRepository extends JpaRepository<Interaction, String
     @SuppressWarnings("unused")
     Optional<Interaction> findByNonce(String nonce);
     
+    /**
+     * Find an active interaction by its user code, through the unique user code index.
+     *
+     * @param code the normalized user code
+     * @param now the current time
+     * @return the interaction if found and not expired
+     */
+    Optional<Interaction> findByCodeAndExpiresAtAfter(String code, LocalDateTime now);
+
+    /**
+     * Find an interaction by its user code, expired or not.
+     *
+     * @param code the normalized user code
+     * @return the interaction if found
+     */
+    Optional<Interaction> findByCode(String code);
+
+    /**
+     * Insert a USER_CODE interaction unless its user code is already held, e.g. by an interaction another
+     * instance created. A conflict leaves the transaction usable, where a failed JPA insert would abort it.
+     *
+     * @param id the interaction ID
+     * @param grantId the grant ID
+     * @param interactionUrl the user code page URL
+     * @param hashMethod the hash method for the finish callback, if any
+     * @param code the normalized user code
+     * @param expiresAt the expiration time
+     * @return the number of inserted rows, 0 if the code is taken
+     */
+    @Modifying
+    @Query(value = "INSERT INTO interaction (id, grant_id, interaction_type, interaction_url, hash_method, user_code, " +
+            "expires_at, created_at, updated_at) " +
+            "VALUES (:id, :grantId, 'USER_CODE', :interactionUrl, :hashMethod, :code, :expiresAt, " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertUserCodeIfAbsent(@Param("id") UUID id,
+                               @Param("grantId") UUID grantId,
+                               @Param("interactionUrl") String interactionUrl,
+                               @Param("hashMethod") String hashMethod,
+                               @Param("code") String code,
+                               @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Find the user codes held by interactions, expired or not.
+     *
+     * @return the normalized user codes
+     */
+    @Query("SELECT i.code FROM Interaction i WHERE i.code IS NOT NULL")
+    List<String> findAllUserCodes();
+
     /**
      * Find interactions that have expired.
      *
@@ -0,0 +1,159 @@
+package com.example.gnap.as.repository;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking R2DBC queries for the reactive read path.
+ * Selects only the columns introspection and continuation polling need, without loading entities.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadRepository {
+
+    /**
+     * An access token with the grant columns introspection needs.
+     */
+    public record TokenRow(String tokenValue, String resourceServer, LocalDateTime expiresAt,
+                           LocalDateTime createdAt, UUID grantId, UUID clientId) {
+    }
+
+    /**
+     * The grant columns continuation polling needs.
+     */
+    public record GrantRow(UUID id, GrantRequest.GrantStatus status, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * An access definition with its ID, which the entity does not expose for construction.
+     */
+    public record AccessDefinitionRow(UUID id, AccessDefinition accessDefinition) {
+    }
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Find an access token by its value.
+     *
+     * @param tokenValue the token value
+     * @return the token, or empty if not found
+     */
+    public Mono<TokenRow> findTokenByValue(String tokenValue) {
+        return databaseClient.sql("""
+                        SELECT t.token_value, t.resource_server, t.expires_at, t.created_at, t.grant_id, g.client_id
+                        FROM access_token t JOIN grant_request g ON g.id = t.grant_id
+                        WHERE t.token_value = :tokenValue""")
+                .bind("tokenValue", tokenValue)
+                .map(row -> new TokenRow(
+                        row.get("token_value", String.class),
+                        row.get("resource_server", String.class),
+                        row.get("expires_at", LocalDateTime.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("grant_id", UUID.class),
+                        row.get("client_id", UUID.class)))
+                .one();
+    }
+
+    /**
+     * Find the access definition IDs of a grant's resources.
+     *
+     * @param grantId the grant ID
+     * @return the access definition IDs
+     */
+    public Flux<UUID> findAccessDefinitionIdsByGrantId(UUID grantId) {
+        return databaseClient.sql("SELECT access_definition_id FROM resource WHERE grant_id = :grantId")
+                .bind("grantId", grantId)
+                .map(row -> row.get("access_definition_id", UUID.class))
+                .all();
+    }
+
+    /**
+     * Find access definitions by their IDs.
+     *
+     * @param ids the access definition IDs
+     * @return the access definitions
+     */
+    public Flux<AccessDefinitionRow> findAccessDefinitionsByIds(Collection<UUID> ids) {
+        return databaseClient.sql("""
+                        SELECT id, type, resource_server, actions, locations, data_types
+                        FROM access_definition WHERE id IN (:ids)""")
+                .bind("ids", ids)
+                .map(row -> new AccessDefinitionRow(
+                        row.get("id", UUID.class),
+                        new AccessDefinition(
+                                row.get("type", String.class),
+                                row.get("resource_server", String.class),
+                                stringList(row, "actions"),
+                                stringList(row, "locations"),
+                                stringList(row, "data_types"))))
+                .all();
+    }
+
+    /**
+     * Find a grant by its ID.
+     *
+     * @param grantId the grant ID
+     * @return the grant, or empty if not found
+     */
+    public Mono<GrantRow> findGrantById(UUID grantId) {
+        return databaseClient.sql("SELECT id, status, expires_at FROM grant_request WHERE id = :grantId")
+                .bind("grantId", grantId)
+                .map(row -> new GrantRow(
+                        row.get("id", UUID.class),
+                        GrantRequest.GrantStatus.valueOf(row.get("status", String.class)),
+                        row.get("expires_at", LocalDateTime.class)))
+                .one();
+    }
+
+    /**
+     * Find the interactions of a grant, as detached entities linked to the given grant.
+     *
+     * @param grant the grant
+     * @return the interactions
+     */
+    public Flux<Interaction> findInteractionsByGrant(GrantRequest grant) {
+        return databaseClient.sql("""
+                        SELECT interaction_type, interaction_url, hash_method, user_code
+                        FROM interaction WHERE grant_id = :grantId""")
+                .bind("grantId", grant.getId())
+                .map(row -> {
+                    Interaction interaction = new Interaction();
+                    interaction.setGrant(grant);
+                    interaction.setInteractionType(
+                            Interaction.InteractionType.valueOf(row.get("interaction_type", String.class)));
+                    interaction.setInteractionUrl(row.get("interaction_url", String.class));
+                    interaction.setHashMethod(row.get("hash_method", String.class));
+                    interaction.setCode(row.get("user_code", String.class));
+                    return interaction;
+                })
+                .all();
+    }
+
+    /**
+     * Read an array column; drivers differ in the element type they decode arrays to.
+     */
+    private static List<String> stringList(Readable row, String column) {
+        Object value = row.get(column);
+        if (value instanceof Object[] values) {
+            return Arrays.stream(values).map(String::valueOf).toList();
+        }
+        return null;
+    }
+}
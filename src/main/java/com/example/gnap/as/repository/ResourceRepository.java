@@ -2,6 +2,7 @@ package com.example.gnap.as.repository;
 
 import com.example.gnap.as.model.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,6 +28,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
      * @param type the resource type
      * @return the list of resources
      */
+    @Query("SELECT r FROM Resource r WHERE r.accessDefinition.type = ?1")
     List<Resource> findByType(String type);
     
     /**
@@ -35,6 +37,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
      * @param resourceServer the resource server
      * @return the list of resources
      */
+    @Query("SELECT r FROM Resource r WHERE r.accessDefinition.resourceServer = ?1")
     List<Resource> findByResourceServer(String resourceServer);
     
     /**
@@ -44,6 +47,7 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
      * @param type the resource type
      * @return the list of resources
      */
+    @Query("SELECT r FROM Resource r WHERE r.grant.id = ?1 AND r.accessDefinition.type = ?2")
     List<Resource> findByGrantIdAndType(UUID grantId, String type);
     
     /**
@@ -53,5 +57,6 @@ public interface ResourceRepository extends JpaRepository<Resource, String> {
      * @param resourceServer the resource server
      * @return the list of resources
      */
+    @Query("SELECT r FROM Resource r WHERE r.grant.id = ?1 AND r.accessDefinition.resourceServer = ?2")
     List<Resource> findByGrantIdAndResourceServer(UUID grantId, String resourceServer);
 }
\ No newline at end of file
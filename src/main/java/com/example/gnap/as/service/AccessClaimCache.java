@@ -0,0 +1,120 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of pre-serialized access claims for token minting in the GNAP protocol.
+ * The JSON array of access rights for a set of interned access definitions is serialized once
+ * and reused by every token minted for the same set, so only the per-token claims are written per mint.
+ * Claims are kept in an LRU cache, so sets that stop being minted give way to new ones.
+ */
+@Service
+public class AccessClaimCache {
+
+    private final JsonFactory jsonFactory;
+    // Bounded so that arbitrary client-supplied access sets cannot grow the cache without limit
+    private final LruCache<String, SerializedString> cache;
+
+    public AccessClaimCache(ObjectMapper objectMapper,
+                            @Value("${gnap.as.token.access-claim-cache-size:10000}") int cacheSize) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * A serialized access claim and whether it was served from the cache.
+     *
+     * @param json the access claim as a raw JSON array
+     * @param cached true on a cache hit
+     */
+    record AccessClaim(SerializableString json, boolean cached) {
+    }
+
+    /**
+     * Get the serialized access claim for a set of resources.
+     *
+     * @param resources the resources granted to the token
+     * @return the access claim as a raw JSON array
+     */
+    public SerializableString accessClaim(List<Resource> resources) {
+        return lookup(resources).json();
+    }
+
+    /**
+     * Get the serialized access claim for a set of resources, reporting cache hits.
+     *
+     * @param resources the resources granted to the token
+     * @return the access claim
+     */
+    AccessClaim lookup(List<Resource> resources) {
+        List<Resource> ordered = resources.stream()
+                .sorted(Comparator.comparing(AccessClaimCache::sortKey))
+                .toList();
+
+        // Resources that are not yet linked to an interned definition have no stable key
+        if (ordered.stream().anyMatch(resource -> resource.getAccessDefinition() == null)) {
+            return new AccessClaim(serialize(ordered), false);
+        }
+
+        String key = ordered.stream()
+                .map(resource -> resource.getAccessDefinition().getHash())
+                .collect(Collectors.joining(","));
+
+        SerializedString cached = cache.get(key);
+        if (cached != null) {
+            return new AccessClaim(cached, true);
+        }
+
+        return new AccessClaim(cache.putIfAbsent(key, serialize(ordered)), false);
+    }
+
+    private static String sortKey(Resource resource) {
+        AccessDefinition accessDefinition = resource.getAccessDefinition();
+        return accessDefinition != null ? accessDefinition.getHash() : String.valueOf(resource.getType());
+    }
+
+    private SerializedString serialize(List<Resource> resources) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartArray();
+            for (Resource resource : resources) {
+                generator.writeStartObject();
+                generator.writeStringField("type", resource.getType());
+                writeList(generator, "actions", resource.getActionsList());
+                writeList(generator, "locations", resource.getLocationsList());
+                writeList(generator, "datatypes", resource.getDataTypesList());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error serializing access claim", e);
+        }
+        return new SerializedString(writer.toString());
+    }
+
+    private static void writeList(JsonGenerator generator, String fieldName, List<String> values) throws IOException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart(fieldName);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+}
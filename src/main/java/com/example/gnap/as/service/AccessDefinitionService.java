@@ -0,0 +1,109 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.UuidV7Generator;
+import com.example.gnap.as.repository.AccessDefinitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Service for interning access definitions in the GNAP protocol.
+ * Grants requesting the same access shape share a single access_definition row,
+ * and recently used definitions are served from an in-memory LRU cache keyed by their canonical hash.
+ */
+@Service
+public class AccessDefinitionService {
+
+    private static final String[] NO_VALUES = new String[0];
+
+    private final AccessDefinitionRepository accessDefinitionRepository;
+    // Bounded so that arbitrary client-supplied shapes cannot grow the cache without limit
+    private final LruCache<String, AccessDefinition> cache;
+
+    public AccessDefinitionService(AccessDefinitionRepository accessDefinitionRepository,
+                                   @Value("${gnap.as.access-definition.cache-size:10000}") int cacheSize) {
+        this.accessDefinitionRepository = accessDefinitionRepository;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Find or create the shared access definition for an access shape.
+     * A new definition is inserted in the caller's transaction, so interning never needs a second connection.
+     *
+     * @param type the access type
+     * @param resourceServer the resource server, or null
+     * @param actions the actions, or null
+     * @param locations the locations, or null
+     * @param dataTypes the data types, or null
+     * @return the interned access definition
+     */
+    @Transactional
+    public AccessDefinition intern(String type, String resourceServer,
+                                   List<String> actions, List<String> locations, List<String> dataTypes) {
+        AccessDefinition candidate = new AccessDefinition(type, resourceServer, actions, locations, dataTypes);
+
+        AccessDefinition cached = cache.get(candidate.getHash());
+        if (cached != null) {
+            return cached;
+        }
+
+        AccessDefinition definition = accessDefinitionRepository.findByHash(candidate.getHash())
+                .orElseGet(() -> insert(candidate));
+
+        cacheAfterCommit(definition);
+        return definition;
+    }
+
+    /**
+     * Insert a new access definition, or pick up the row of a concurrent insert of the same shape.
+     *
+     * @param candidate the access definition to insert
+     * @return the stored access definition
+     */
+    private AccessDefinition insert(AccessDefinition candidate) {
+        accessDefinitionRepository.insertIfAbsent(
+                UuidV7Generator.nextUuid(),
+                candidate.getHash(),
+                candidate.getType(),
+                candidate.getResourceServer(),
+                toArray(candidate.getActions()),
+                toArray(candidate.getLocations()),
+                toArray(candidate.getDataTypes()));
+
+        return accessDefinitionRepository.findByHash(candidate.getHash())
+                .orElseThrow(() -> new IllegalStateException("Access definition not found after insert: " + candidate.getHash()));
+    }
+
+    /**
+     * Cache a definition once its row is known to be committed, so a rolled back grant cannot leave
+     * a definition in the cache that does not exist in the database.
+     *
+     * @param definition the access definition
+     */
+    private void cacheAfterCommit(AccessDefinition definition) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(definition);
+                }
+            });
+        } else {
+            cache(definition);
+        }
+    }
+
+    private void cache(AccessDefinition definition) {
+        cache.putIfAbsent(definition.getHash(), definition);
+    }
+
+    private static String[] toArray(List<String> values) {
+        // Empty rather than null so the parameter is always bound as an array; read back as null
+        return values != null ? values.toArray(String[]::new) : NO_VALUES;
+    }
+}
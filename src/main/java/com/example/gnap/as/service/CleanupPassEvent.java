@@ -0,0 +1,27 @@
+package com.example.gnap.as.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one scheduled pass over expired grants, tokens and interactions.
+ */
+@Name("com.example.gnap.as.CleanupPass")
+@Label("Cleanup Pass")
+@Category({"GNAP", "Cleanup"})
+@Description("A scheduled cleanup of expired grants, tokens and interactions")
+@StackTrace(false)
+class CleanupPassEvent extends jdk.jfr.Event {
+
+    @Label("Expired Grants")
+    int expiredGrants;
+
+    @Label("Deleted Tokens")
+    int deletedTokens;
+
+    @Label("Deleted Interactions")
+    int deletedInteractions;
+}
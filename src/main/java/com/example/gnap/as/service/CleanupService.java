@@ -30,12 +30,17 @@ public class CleanupService {
 
     /**
      * Schedule cleanup of expired grants, tokens, and interactions.
-     * Runs every hour.
+     * Runs every hour and is recorded as a CleanupPass JFR event.
      */
     @Scheduled(fixedRate = 3600000) // 1 hour
     public void cleanupExpiredResources() {
-        grantService.cleanupExpiredGrants();
-        tokenService.cleanupExpiredTokens();
-        interactionService.cleanupExpiredInteractions();
+        CleanupPassEvent event = new CleanupPassEvent();
+        event.begin();
+
+        event.expiredGrants = grantService.cleanupExpiredGrants();
+        event.deletedTokens = tokenService.cleanupExpiredTokens();
+        event.deletedInteractions = interactionService.cleanupExpiredInteractions();
+
+        event.commit();
     }
 }
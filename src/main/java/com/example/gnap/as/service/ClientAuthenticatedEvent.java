@@ -0,0 +1,30 @@
+package com.example.gnap.as.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a client authentication attempt, including the client lookup and any signature check.
+ */
+@Name("com.example.gnap.as.ClientAuthenticated")
+@Label("Client Authenticated")
+@Category({"GNAP", "Client"})
+@Description("A client authentication attempt")
+@StackTrace(false)
+class ClientAuthenticatedEvent extends jdk.jfr.Event {
+
+    @Label("Key ID")
+    String keyId;
+
+    @Label("Key Type")
+    String keyType;
+
+    @Label("Signature Checked")
+    boolean signatureChecked;
+
+    @Label("Authenticated")
+    boolean authenticated;
+}
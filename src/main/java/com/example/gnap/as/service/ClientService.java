@@ -6,6 +6,7 @@ import com.example.gnap.as.repository.ClientRepository;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
 import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jwt.SignedJWT;
@@ -70,6 +71,23 @@ public class ClientService {
                 });
     }
 
+    /**
+     * Find the client that made a grant request, e.g. for its rate limits.
+     *
+     * @param grantId the grant ID
+     * @return the client if the grant exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<Client> findByGrantId(UUID grantId) {
+        return clientRepository.findByGrantId(grantId)
+                .map(client -> {
+                    UUID clientId = client.getId();
+                    clientInformationService.findByClientId(clientId)
+                            .ifPresent(client::setClientInformation);
+                    return client;
+                });
+    }
+
     /**
      * Find a client by its key ID.
      *
@@ -117,10 +135,30 @@ public class ClientService {
      */
     @Transactional(readOnly = true)
     public boolean authenticateClient(Client client, String signedJwt) {
+        ClientAuthenticatedEvent event = new ClientAuthenticatedEvent();
+        event.begin();
+
+        boolean authenticated = verifyClient(client, signedJwt, event);
+
+        if (event.shouldCommit()) {
+            event.keyId = client.getKeyId();
+            if (event.keyType == null) {
+                // Not parsed when authenticating by existence only; take it from the presented key
+                event.keyType = GnapMetrics.keyType(client);
+            }
+            event.signatureChecked = !isEmpty(signedJwt);
+            event.authenticated = authenticated;
+            event.commit();
+        }
+        return authenticated;
+    }
+
+    private boolean verifyClient(Client client, String signedJwt, ClientAuthenticatedEvent event) {
+        // Failures are logged at DEBUG: the resulting rejection is logged, rate-limited, by GnapExceptionHandler
         // Check if a client has a key ID
         String keyId = client.getKeyId();
         if (isEmpty(keyId)) {
-            log.warn("Client authentication failed: No key ID provided");
+            log.debug("Client authentication failed: No key ID provided");
             return false;
         }
 
@@ -128,13 +166,13 @@ public class ClientService {
         Optional<Client> storedClient = findByKeyId(keyId);
 
         if (storedClient.isEmpty()) {
-            log.warn("Client authentication failed: No client found with key ID {}", keyId);
+            log.debug("Client authentication failed: No client found with key ID {}", keyId);
             return false;
         }
 
         // If no signed JWT is provided, just check if the client exists
         if (isEmpty(signedJwt)) {
-            log.info("Client authenticated by existence check only (no signature verification)");
+            log.debug("Client authenticated by existence check only (no signature verification)");
             return true;
         }
 
@@ -157,7 +195,7 @@ public class ClientService {
             JWSHeader header = jwt.getHeader();
 
             if (!client.getKeyId().equals(header.getKeyID())) {
-                log.warn("Client authentication failed: JWT key ID {} does not match client key ID {}", header.getKeyID(), client.getKeyId());
+                log.debug("Client authentication failed: JWT key ID {} does not match client key ID {}", header.getKeyID(), client.getKeyId());
                 return false;
             }
 
@@ -167,6 +205,7 @@ public class ClientService {
             try {
                 // Get the key type
                 String keyType = jwk.getKeyType().getValue();
+                event.keyType = keyType;
 
                 // Create the appropriate verifier based on key type
                 switch (keyType) {
@@ -176,9 +215,8 @@ public class ClientService {
                     case EC -> verifier = new DefaultJWSVerifierFactory().createJWSVerifier(
                             header,
                             jwk.toECKey().toECPublicKey());
-                    case OKP -> verifier = new DefaultJWSVerifierFactory().createJWSVerifier(
-                            header,
-                            jwk.toOctetKeyPair().toPublicKey());
+                    // OKP keys cannot be exported to a java.security.PublicKey, so use the Ed25519 verifier directly
+                    case OKP -> verifier = new Ed25519Verifier(jwk.toOctetKeyPair().toPublicJWK());
                     case null, default -> {
                         log.warn("Client authentication failed: Unsupported key type: {}", keyType);
                         return false;
@@ -193,14 +231,14 @@ public class ClientService {
             boolean verified = jwt.verify(verifier);
 
             if (verified) {
-                log.info("Client authenticated successfully with signature verification");
+                log.debug("Client authenticated successfully with signature verification");
             } else {
-                log.warn("Client authentication failed: Invalid signature");
+                log.debug("Client authentication failed: Invalid signature");
             }
 
             return verified;
         } catch (ParseException e) {
-            log.error("Client authentication failed: Error parsing JWK or JWT", e);
+            log.debug("Client authentication failed: Error parsing JWK or JWT: {}", e.getMessage());
             return false;
         } catch (JOSEException e) {
             log.error("Client authentication failed: Error verifying signature", e);
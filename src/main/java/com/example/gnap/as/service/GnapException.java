@@ -0,0 +1,64 @@
+package com.example.gnap.as.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A rejected GNAP request, rendered as a GNAP error response (RFC 9635, section 3.6).
+ * Rejections are expected results rather than failures: under credential stuffing or aggressive polling they
+ * are the common case, so the exception captures no stack trace and does not support suppression, and the
+ * rejections with a fixed description are preallocated.
+ */
+public class GnapException extends RuntimeException {
+
+    public static final GnapException CLIENT_AUTHENTICATION_FAILED =
+            new GnapException(Code.INVALID_CLIENT, "Client authentication failed");
+    public static final GnapException INVALID_CONTINUATION_TOKEN =
+            new GnapException(Code.INVALID_CONTINUATION, "Invalid continuation token");
+    public static final GnapException GRANT_EXPIRED =
+            new GnapException(Code.INVALID_CONTINUATION, "Grant has expired");
+    public static final GnapException INVALID_REQUEST =
+            new GnapException(Code.INVALID_REQUEST, "Malformed or oversized request");
+    public static final GnapException TOO_MANY_REQUESTS =
+            new GnapException(Code.TOO_FAST, "Too many requests");
+    public static final GnapException SERVER_BUSY =
+            new GnapException(Code.SERVER_BUSY, "Server busy, retry later");
+
+    private final Code code;
+
+    public GnapException(Code code, String description) {
+        super(description, null, false, false);
+        this.code = code;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * GNAP error codes, with the HTTP status they are returned with.
+     */
+    public enum Code {
+        INVALID_REQUEST("invalid_request", HttpStatus.BAD_REQUEST),
+        INVALID_CLIENT("invalid_client", HttpStatus.BAD_REQUEST),
+        INVALID_CONTINUATION("invalid_continuation", HttpStatus.UNAUTHORIZED),
+        TOO_FAST("too_fast", HttpStatus.TOO_MANY_REQUESTS),
+        // RFC 9635 registers no overload error; too_fast tells the client to slow down and retry
+        SERVER_BUSY("too_fast", HttpStatus.SERVICE_UNAVAILABLE);
+
+        private final String value;
+        private final HttpStatus status;
+
+        Code(String value, HttpStatus status) {
+            this.value = value;
+            this.status = status;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+    }
+}
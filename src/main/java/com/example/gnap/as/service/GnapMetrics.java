@@ -0,0 +1,256 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.Resource;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer timers for the GNAP request pipeline.
+ * Grant requests are timed as a whole and per stage, tagged by outcome, client key type and the number of
+ * resource servers requested. Continuation, introspection and revocation are timed per outcome, and
+ * requests rejected by the rate limiter are counted per endpoint. Admission control reports its adaptive
+ * limit and the requests it sheds per endpoint class, and each bulkhead its saturation.
+ * Histogram buckets and SLOs are configured under management.metrics.distribution in application.properties.
+ */
+@Component
+public class GnapMetrics {
+
+    public static final String GRANT_REQUEST = "gnap.grant.request";
+    public static final String GRANT_STAGE = "gnap.grant.stage";
+    public static final String GRANT_CONTINUATION = "gnap.grant.continuation";
+    public static final String TOKEN_INTROSPECT = "gnap.token.introspect";
+    public static final String TOKEN_REVOKE = "gnap.token.revoke";
+    public static final String RATE_LIMITED = "gnap.rate_limit.rejected";
+    public static final String ADMISSION_LIMIT = "gnap.admission.limit";
+    public static final String ADMISSION_REJECTED = "gnap.admission.rejected";
+    public static final String BULKHEAD_MAX = "gnap.bulkhead.max";
+    public static final String BULKHEAD_IN_FLIGHT = "gnap.bulkhead.in_flight";
+    public static final String BULKHEAD_WAITING = "gnap.bulkhead.waiting";
+    public static final String BULKHEAD_REJECTED = "gnap.bulkhead.rejected";
+    public static final String CONCURRENCY_REJECTED = "gnap.concurrency.rejected";
+
+    public static final String STAGE_CLIENT_AUTHENTICATION = "client_authentication";
+    public static final String STAGE_CLIENT_REGISTRATION = "client_registration";
+    public static final String STAGE_RESOURCE_CREATION = "resource_creation";
+    public static final String STAGE_PERSISTENCE = "persistence";
+    public static final String STAGE_INTERACTION_CREATION = "interaction_creation";
+    public static final String STAGE_CONTINUATION_TOKEN = "continuation_token";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_ERROR = "error";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public GnapMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start timing an operation.
+     *
+     * @return the sample to stop once the outcome is known
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stop timing an operation and record it against the given timer.
+     *
+     * @param sample the sample returned by {@link #start()}
+     * @param name the timer name
+     * @param outcome the outcome tag
+     * @param tags any further tags
+     */
+    public void stop(Timer.Sample sample, String name, String outcome, Tags tags) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Count a request rejected by the rate limiter.
+     *
+     * @param endpoint the rate-limited endpoint, grant or continuation
+     */
+    public void rateLimited(String endpoint) {
+        meterRegistry.counter(RATE_LIMITED, "endpoint", endpoint).increment();
+    }
+
+    /**
+     * Report the adaptive concurrency limit of an endpoint class.
+     *
+     * @param endpoint the endpoint class
+     * @param limit the object holding the limit, referenced weakly
+     * @param value reads the current limit
+     */
+    public <T> void admissionLimit(String endpoint, T limit, ToDoubleFunction<T> value) {
+        Gauge.builder(ADMISSION_LIMIT, limit, value)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a request shed by admission control.
+     *
+     * @param endpoint the endpoint class
+     * @param reason limit when the class was at its limit, priority when a higher-priority class was congested
+     */
+    public void admissionRejected(String endpoint, String reason) {
+        meterRegistry.counter(ADMISSION_REJECTED, "endpoint", endpoint, "reason", reason).increment();
+    }
+
+    /**
+     * Report the saturation of a bulkhead: its budget, the requests holding a permit and those waiting for one.
+     *
+     * @param bulkhead the bulkhead name
+     * @param max the bulkhead's budget of concurrent requests
+     * @param state the object holding the bulkhead's state, referenced weakly
+     * @param inFlight reads the number of requests holding a permit
+     * @param waiting reads the number of requests waiting for a permit
+     */
+    public <T> void bulkhead(String bulkhead, int max, T state, ToDoubleFunction<T> inFlight,
+                             ToDoubleFunction<T> waiting) {
+        Gauge.builder(BULKHEAD_MAX, () -> max)
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+        Gauge.builder(BULKHEAD_IN_FLIGHT, state, inFlight)
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+        Gauge.builder(BULKHEAD_WAITING, state, waiting)
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a request rejected by a full bulkhead.
+     *
+     * @param bulkhead the bulkhead name
+     */
+    public void bulkheadRejected(String bulkhead) {
+        meterRegistry.counter(BULKHEAD_REJECTED, "bulkhead", bulkhead).increment();
+    }
+
+    /**
+     * Count a request rejected by the concurrency limit of virtual threads.
+     */
+    public void concurrencyRejected() {
+        meterRegistry.counter(CONCURRENCY_REJECTED).increment();
+    }
+
+    /**
+     * Time one stage of the grant pipeline.
+     * The outcome is rejected when the stage throws a GnapException or an IllegalArgumentException, and
+     * error for any other exception.
+     *
+     * @param stage the stage name
+     * @param tags the grant tags from {@link #grantTags}
+     * @param operation the stage
+     * @return the result of the stage
+     */
+    public <T> T stage(String stage, Tags tags, Supplier<T> operation) {
+        Timer.Sample sample = start();
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = operation.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (GnapException | IllegalArgumentException e) {
+            outcome = OUTCOME_REJECTED;
+            throw e;
+        } finally {
+            stop(sample, GRANT_STAGE, outcome, tags.and("stage", stage));
+        }
+    }
+
+    /**
+     * Classify an exception thrown from a timed operation.
+     *
+     * @param e the exception
+     * @return the outcome tag
+     */
+    public static String outcome(RuntimeException e) {
+        return e instanceof GnapException || e instanceof IllegalArgumentException ? OUTCOME_REJECTED : OUTCOME_ERROR;
+    }
+
+    /**
+     * Build the tags shared by all timers of one grant request.
+     *
+     * @param client the client from the request, or null
+     * @param resources the requested resources
+     * @return the key type and resource server count tags
+     */
+    public static Tags grantTags(Client client, List<Resource> resources) {
+        return Tags.of(Tag.of("key_type", keyType(client)),
+                Tag.of("resource_servers", bucket(resourceServerCount(resources))));
+    }
+
+    /**
+     * Count the distinct resource servers among the given resources.
+     *
+     * @param resources the resources
+     * @return the number of distinct, non-null resource servers
+     */
+    static long resourceServerCount(List<Resource> resources) {
+        return resources.stream()
+                .map(Resource::getResourceServer)
+                .filter(Objects::nonNull)
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Determine the key type of a client from its presented or stored JWK.
+     *
+     * @param client the client, or null
+     * @return RSA, EC, OKP, none, or unknown
+     */
+    static String keyType(Client client) {
+        if (client == null) {
+            return NONE;
+        }
+
+        Object kty = null;
+        if (client.getKey() != null && client.getKey().get("jwk") instanceof Map<?, ?> jwk) {
+            kty = jwk.get("kty");
+        } else if (client.getKeyJwk() != null) {
+            try {
+                kty = JSONObjectUtils.parse(client.getKeyJwk()).get("kty");
+            } catch (ParseException e) {
+                kty = null;
+            }
+        }
+
+        if (ClientService.RSA.equals(kty) || ClientService.EC.equals(kty) || ClientService.OKP.equals(kty)) {
+            return (String) kty;
+        }
+        return kty == null ? NONE : "unknown";
+    }
+
+    /**
+     * Bucket the resource server count to keep the tag's cardinality bounded.
+     */
+    static String bucket(long resourceServers) {
+        if (resourceServers <= 2) {
+            return Long.toString(resourceServers);
+        }
+        return resourceServers <= 5 ? "3-5" : "6+";
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.gnap.as.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a processed grant request, spanning authentication through the continuation token.
+ */
+@Name("com.example.gnap.as.GrantProcessed")
+@Label("Grant Processed")
+@Category({"GNAP", "Grant"})
+@Description("A grant request processed by the authorization server")
+@StackTrace(false)
+class GrantProcessedEvent extends jdk.jfr.Event {
+
+    @Label("Grant ID")
+    String grantId;
+
+    @Label("Client Key Type")
+    String keyType;
+
+    @Label("Resource Count")
+    int resourceCount;
+
+    @Label("Resource Server Count")
+    int resourceServerCount;
+
+    @Label("Interaction Count")
+    int interactionCount;
+
+    @Label("Outcome")
+    String outcome;
+}
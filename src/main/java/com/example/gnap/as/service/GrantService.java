@@ -1,10 +1,17 @@
 package com.example.gnap.as.service;
 
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.AccessToken;
 import com.example.gnap.as.model.Client;
 import com.example.gnap.as.model.GrantRequest;
 import com.example.gnap.as.model.Interaction;
 import com.example.gnap.as.model.Resource;
+import com.example.gnap.as.model.UuidV7Generator;
 import com.example.gnap.as.repository.GrantRequestRepository;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,16 +32,22 @@ public class GrantService {
     private final ClientService clientService;
     private final InteractionService interactionService;
     private final TokenService tokenService;
+    private final AccessDefinitionService accessDefinitionService;
+    private final GnapMetrics metrics;
 
     public GrantService(
             GrantRequestRepository grantRequestRepository,
             ClientService clientService,
             InteractionService interactionService,
-            TokenService tokenService) {
+            TokenService tokenService,
+            AccessDefinitionService accessDefinitionService,
+            GnapMetrics metrics) {
         this.grantRequestRepository = grantRequestRepository;
         this.clientService = clientService;
         this.interactionService = interactionService;
         this.tokenService = tokenService;
+        this.accessDefinitionService = accessDefinitionService;
+        this.metrics = metrics;
     }
 
     @Value("${gnap.as.token.lifetime:3600}")
@@ -46,46 +59,89 @@ public class GrantService {
 
     /**
      * Process a grant request.
+     * The request and each of its stages are timed through {@link GnapMetrics}.
      *
      * @param request the grant request
      * @return the grant response
      */
     @Transactional
-    public GrantRequest processGrantRequest(GrantRequest request) {
+    public GrantResponse processGrantRequest(GrantRequest request) {
+        List<Resource> requestedResources = requestedResources(request);
+        // The request's client object is mapped field by field, never bound to the client entity
+        Client presentedClient = request.getClientInfo() != null ? request.getClientInfo().toClient() : null;
+        Tags tags = GnapMetrics.grantTags(presentedClient, requestedResources);
+        Timer.Sample sample = metrics.start();
+        GrantProcessedEvent event = new GrantProcessedEvent();
+        event.begin();
+        String outcome = GnapMetrics.OUTCOME_ERROR;
+        try {
+            GrantResponse response = processGrantRequest(request, presentedClient, requestedResources, tags, event);
+            outcome = GnapMetrics.OUTCOME_SUCCESS;
+            return response;
+        } catch (RuntimeException e) {
+            outcome = GnapMetrics.outcome(e);
+            throw e;
+        } finally {
+            metrics.stop(sample, GnapMetrics.GRANT_REQUEST, outcome, tags);
+            if (event.shouldCommit()) {
+                event.keyType = GnapMetrics.keyType(presentedClient);
+                event.resourceCount = requestedResources.size();
+                event.resourceServerCount = (int) GnapMetrics.resourceServerCount(requestedResources);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private GrantResponse processGrantRequest(GrantRequest request, Client presentedClient,
+                                             List<Resource> requestedResources, Tags tags,
+                                             GrantProcessedEvent event) {
         // Authenticate client if provided
-        Client client = request.getClient();
+        Client client = presentedClient;
         if (client != null) {
-            if (!clientService.authenticateClient(request.getClient())) {
-                throw new IllegalArgumentException("Client authentication failed");
-            }
-            client = clientService.registerClient(request.getClient());
+            metrics.stage(GnapMetrics.STAGE_CLIENT_AUTHENTICATION, tags, () -> {
+                if (!clientService.authenticateClient(presentedClient)) {
+                    throw GnapException.CLIENT_AUTHENTICATION_FAILED;
+                }
+                return null;
+            });
+            client = metrics.stage(GnapMetrics.STAGE_CLIENT_REGISTRATION, tags,
+                    () -> clientService.registerClient(presentedClient));
         }
 
         // Create grant request
         GrantRequest grant = createGrantRequest(request, client);
 
-        // Create resources
-        if (request.getResources() != null && !request.getResources().isEmpty()) {
-            for (Resource resource : request.getResources()) {
+        // Create resources from the access rights requested for each access token
+        metrics.stage(GnapMetrics.STAGE_RESOURCE_CREATION, tags, () -> {
+            for (Resource resource : requestedResources) {
                 Resource newResource = createResource(resource, grant);
                 grant.addResource(newResource);
             }
-        }
+            return null;
+        });
+
+        // Save grant before its interactions, which reference it; flushed here so the stage covers the inserts
+        GrantRequest savedGrant = metrics.stage(GnapMetrics.STAGE_PERSISTENCE, tags,
+                () -> grantRequestRepository.saveAndFlush(grant));
 
         // Create interactions if needed
         List<Interaction> interactions = new ArrayList<>();
         if (request.getInteractInfo() != null) {
-            interactions = interactionService.createInteractions(request.getInteractInfo(), grant);
+            interactions = metrics.stage(GnapMetrics.STAGE_INTERACTION_CREATION, tags,
+                    () -> interactionService.createInteractions(request.getInteractInfo(), savedGrant));
             for (Interaction interaction : interactions) {
-                grant.addInteraction(interaction);
+                savedGrant.addInteraction(interaction);
             }
         }
+        event.grantId = savedGrant.getId().toString();
+        event.interactionCount = interactions.size();
 
-        // Save grant
-        grant = grantRequestRepository.save(grant);
+        String continuationToken = metrics.stage(GnapMetrics.STAGE_CONTINUATION_TOKEN, tags,
+                () -> tokenService.generateContinuationToken(savedGrant));
 
         // Build response
-        return buildGrantResponse(grant, interactions);
+        return buildGrantResponse(savedGrant, interactions, continuationToken);
     }
 
     /**
@@ -97,7 +153,7 @@ public class GrantService {
      */
     private GrantRequest createGrantRequest(GrantRequest request, Client client) {
         GrantRequest grant = new GrantRequest();
-        grant.setId(UUID.randomUUID());
+        grant.setId(UuidV7Generator.nextUuid());
         grant.setClient(client);
         grant.setStatus(GrantRequest.GrantStatus.PENDING);
 
@@ -119,23 +175,46 @@ public class GrantService {
     }
 
     /**
-     * Create a resource entity.
+     * Collect the access rights requested in a grant request.
+     * GNAP clients request access inside each entry of the access_token array.
+     *
+     * @param request the grant request
+     * @return the requested resources
+     */
+    private List<Resource> requestedResources(GrantRequest request) {
+        List<Resource> resources = new ArrayList<>();
+        if (request.getResources() != null) {
+            resources.addAll(request.getResources());
+        }
+        if (request.getAccessTokenList() != null) {
+            for (AccessToken accessToken : request.getAccessTokenList()) {
+                if (accessToken.getAccess() != null) {
+                    resources.addAll(accessToken.getAccess());
+                }
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Create a resource entity referencing the interned access definition for its shape.
      *
      * @param resource the resource
      * @param grant the grant request
      * @return the resource entity
      */
     private Resource createResource(Resource resource, GrantRequest grant) {
+        AccessDefinition accessDefinition = accessDefinitionService.intern(
+                resource.getType(),
+                resource.getResourceServer(),
+                resource.getActionsList(),
+                resource.getLocationsList(),
+                resource.getDataTypesList());
+
         Resource newResource = new Resource();
-        newResource.setId(UUID.randomUUID());
+        newResource.setId(UuidV7Generator.nextUuid());
         newResource.setGrant(grant);
-        newResource.setType(resource.getType());
-        newResource.setResourceServer(resource.getResourceServer());
-
-        // Set actions, locations, and dataTypes
-        newResource.setActionsList(resource.getActionsList());
-        newResource.setLocationsList(resource.getLocationsList());
-        newResource.setDataTypesList(resource.getDataTypesList());
+        newResource.setAccessDefinition(accessDefinition);
 
         return newResource;
     }
@@ -145,31 +224,30 @@ public class GrantService {
      *
      * @param grant the grant request entity
      * @param interactions the interactions
+     * @param continuationToken the continuation token to return
      * @return the grant response
      */
-    private GrantRequest buildGrantResponse(GrantRequest grant, List<Interaction> interactions) {
-        // Create a new GrantRequest for the response
-        GrantRequest response = new GrantRequest();
-        response.setId(grant.getId());
-
-        // Add continue information
-        GrantRequest.ContinueInfo continueInfo = new GrantRequest.ContinueInfo();
-        continueInfo.setUri("/gnap/grant/" + grant.getId());
-        continueInfo.setAccessToken(tokenService.generateContinuationToken(grant));
-        continueInfo.setWait(5); // Suggest client to wait 5 seconds before polling
-        response.setContinueInfo(continueInfo);
+    private GrantResponse buildGrantResponse(GrantRequest grant, List<Interaction> interactions,
+                                             String continuationToken) {
+        // Suggest client to wait 5 seconds before polling
+        GrantResponse.Continue continueInfo =
+                new GrantResponse.Continue("/gnap/grant/" + grant.getId(), continuationToken, 5);
 
         // Add interaction information if needed
+        GrantResponse.Interact interact = null;
         if (!interactions.isEmpty()) {
-            response.setInteractInfo(interactionService.buildInteractResponse(interactions));
+            interact = GrantResponse.Interact.from(interactionService.buildInteractResponse(interactions));
         }
 
         // Add access tokens if grant is approved
+        List<AccessTokenResponse> accessTokens = null;
         if (grant.getStatus() == GrantRequest.GrantStatus.APPROVED) {
-            response.setAccessTokenList(tokenService.generateAccessTokens(grant));
+            accessTokens = tokenService.generateAccessTokens(grant).stream()
+                    .map(AccessTokenResponse::from)
+                    .toList();
         }
 
-        return response;
+        return new GrantResponse(grant.getId(), continueInfo, interact, accessTokens);
     }
 
     /**
@@ -192,7 +270,7 @@ public class GrantService {
     @Transactional
     public void updateGrantStatus(UUID grantId, GrantRequest.GrantStatus status) {
         GrantRequest grant = grantRequestRepository.findById(grantId)
-                .orElseThrow(() -> new IllegalArgumentException("Grant not found: " + grantId));
+                .orElseThrow(() -> new GnapException(GnapException.Code.INVALID_REQUEST, "Grant not found: " + grantId));
 
         grant.setStatus(status);
         grantRequestRepository.save(grant);
@@ -200,41 +278,64 @@ public class GrantService {
 
     /**
      * Process a continuation request.
+     * Timed through {@link GnapMetrics}, tagged by outcome. A rejection does not roll back the transaction,
+     * so that an expired grant is marked as such.
      *
      * @param grantId the grant ID
      * @param continuationToken the continuation token
      * @return the grant response
+     * @throws GnapException if the token is invalid or the grant is unknown or expired
      */
-    @Transactional
-    public GrantRequest processContinuation(UUID grantId, String continuationToken) {
+    @Transactional(noRollbackFor = GnapException.class)
+    public GrantResponse processContinuation(UUID grantId, String continuationToken) {
+        Timer.Sample sample = metrics.start();
+        String outcome = GnapMetrics.OUTCOME_ERROR;
+        try {
+            GrantResponse response = continueGrant(grantId, continuationToken);
+            outcome = GnapMetrics.OUTCOME_SUCCESS;
+            return response;
+        } catch (RuntimeException e) {
+            outcome = GnapMetrics.outcome(e);
+            throw e;
+        } finally {
+            metrics.stop(sample, GnapMetrics.GRANT_CONTINUATION, outcome, Tags.empty());
+        }
+    }
+
+    private GrantResponse continueGrant(UUID grantId, String continuationToken) {
         // Validate continuation token
-        if (tokenService.validateContinuationToken(grantId, continuationToken)) {
-            throw new IllegalArgumentException("Invalid continuation token");
+        if (!tokenService.validateContinuationToken(grantId, continuationToken)) {
+            throw GnapException.INVALID_CONTINUATION_TOKEN;
         }
 
         GrantRequest grant = grantRequestRepository.findById(grantId)
-                .orElseThrow(() -> new IllegalArgumentException("Grant not found: " + grantId));
+                .orElseThrow(() -> new GnapException(GnapException.Code.INVALID_CONTINUATION, "Grant not found: " + grantId));
 
         // Check if grant has expired
         if (grant.getExpiresAt().isBefore(LocalDateTime.now())) {
             grant.setStatus(GrantRequest.GrantStatus.EXPIRED);
             grantRequestRepository.save(grant);
-            throw new IllegalArgumentException("Grant has expired");
+            throw GnapException.GRANT_EXPIRED;
         }
 
         // Build response based on current state
-        return buildGrantResponse(grant, new ArrayList<>(grant.getInteractions()));
+        return buildGrantResponse(grant, new ArrayList<>(grant.getInteractions()),
+                tokenService.generateContinuationToken(grant));
     }
 
     /**
      * Clean up expired grants.
+     *
+     * @return the number of grants marked as expired
      */
     @Transactional
-    public void cleanupExpiredGrants() {
-        List<GrantRequest> expiredGrants = grantRequestRepository.findByExpiresAtBefore(LocalDateTime.now());
+    public int cleanupExpiredGrants() {
+        List<GrantRequest> expiredGrants = grantRequestRepository.findByExpiresAtBeforeAndStatusNot(
+                LocalDateTime.now(), GrantRequest.GrantStatus.EXPIRED);
         for (GrantRequest grant : expiredGrants) {
             grant.setStatus(GrantRequest.GrantStatus.EXPIRED);
         }
         grantRequestRepository.saveAll(expiredGrants);
+        return expiredGrants.size();
     }
 }
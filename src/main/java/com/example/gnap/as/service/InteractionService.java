@@ -2,6 +2,7 @@ package com.example.gnap.as.service;
 
 import com.example.gnap.as.model.GrantRequest;
 import com.example.gnap.as.model.Interaction;
+import com.example.gnap.as.model.UuidV7Generator;
 import com.example.gnap.as.repository.InteractionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,13 +18,23 @@ import java.util.UUID;
 
 /**
  * Service for interaction management in the GNAP protocol.
+ * A USER_CODE interaction is created with a random user code that is persisted under a unique index, so that
+ * the code a user enters at the user code page resolves to its interaction, and its grant, with one index
+ * lookup. Codes are drawn from 20 consonants (RFC 8628, section 6.1), which are hard to confuse and cannot
+ * spell words; with the default 8 characters the code space is 20^8, about 2.6 * 10^10. Codes are handed out
+ * by the {@link UserCodeAllocator} and returned to it when their interaction expires or the user finishes.
+ * When instances share the database, a code may be free here but held by another instance's interaction, so
+ * the row is inserted with ON CONFLICT DO NOTHING and a conflict draws a new code instead of failing the grant.
  */
 @Service
 public class InteractionService {
 
     private static final Logger log = LoggerFactory.getLogger(InteractionService.class);
 
+    private static final int MAX_USER_CODE_INSERTS = 8;
+
     private final InteractionRepository interactionRepository;
+    private final UserCodeAllocator userCodeAllocator;
 
     @Value("${gnap.as.interaction.timeout:300}")
     private int interactionTimeout;
@@ -31,8 +42,9 @@ public class InteractionService {
     @Value("${gnap.as.issuer:https://auth.example.com}")
     private String issuer;
 
-    public InteractionService(InteractionRepository interactionRepository) {
+    public InteractionService(InteractionRepository interactionRepository, UserCodeAllocator userCodeAllocator) {
         this.interactionRepository = interactionRepository;
+        this.userCodeAllocator = userCodeAllocator;
     }
 
     /**
@@ -44,7 +56,7 @@ public class InteractionService {
      */
     @Transactional
     public List<Interaction> createInteractions(GrantRequest.InteractInfo interactInfo, GrantRequest grant) {
-        log.info("Creating interactions for grant request - interaction types requested: redirect={}, app={}, userCode={}",
+        log.debug("Creating interactions for grant request - interaction types requested: redirect={}, app={}, userCode={}",
                 interactInfo.getRedirect() != null, 
                 interactInfo.getApp() != null,
                 interactInfo.getUserCode() != null);
@@ -75,30 +87,51 @@ public class InteractionService {
             log.debug("Created APP interaction");
         }
 
-        // Create user code interaction if requested
-        if (interactInfo.getUserCode() != null) {
-            Interaction interaction = new Interaction();
-            interaction.setGrant(grant);
-            interaction.setInteractionType(Interaction.InteractionType.USER_CODE);
-            interaction.setInteractionUrl(issuer + "/gnap/interact/user-code/" + grant.getId());
-            interaction.setExpiresAt(LocalDateTime.now().plusSeconds(interactionTimeout));
-            interactions.add(interaction);
-            log.debug("Created USER_CODE interaction");
-        }
+        String hashMethod = interactInfo.getFinish() != null ? interactInfo.getFinish().getMethod() : null;
 
         // Set hash method for finish callback if provided
-        if (interactInfo.getFinish() != null && interactInfo.getFinish().getMethod() != null) {
+        if (hashMethod != null) {
             for (Interaction interaction : interactions) {
-                interaction.setHashMethod(interactInfo.getFinish().getMethod());
+                interaction.setHashMethod(hashMethod);
             }
             log.debug("Set hash method for {} interactions", interactions.size());
         }
 
-        List<Interaction> savedInteractions = interactionRepository.saveAll(interactions);
-        log.info("Successfully created {} interactions", savedInteractions.size());
+        List<Interaction> savedInteractions = new ArrayList<>(interactionRepository.saveAll(interactions));
+
+        // Create user code interaction if requested
+        if (interactInfo.getUserCode() != null) {
+            savedInteractions.add(insertUserCodeInteraction(grant, hashMethod));
+            log.debug("Created USER_CODE interaction");
+        }
+
+        log.debug("Successfully created {} interactions", savedInteractions.size());
         return savedInteractions;
     }
 
+    /**
+     * Insert a USER_CODE interaction with a freshly allocated code. A code that is free here but held by
+     * another instance stays marked as taken, and another code is drawn.
+     *
+     * @param grant the grant request
+     * @param hashMethod the hash method for the finish callback, if any
+     * @return the stored interaction
+     */
+    private Interaction insertUserCodeInteraction(GrantRequest grant, String hashMethod) {
+        for (int attempt = 0; attempt < MAX_USER_CODE_INSERTS; attempt++) {
+            String code = userCodeAllocator.allocate();
+            int inserted = interactionRepository.insertUserCodeIfAbsent(UuidV7Generator.nextUuid(), grant.getId(),
+                    issuer + "/gnap/interact/user-code", hashMethod, code,
+                    LocalDateTime.now().plusSeconds(interactionTimeout));
+            if (inserted == 1) {
+                return interactionRepository.findByCode(code)
+                        .orElseThrow(() -> new IllegalStateException("Interaction not found after insert: " + code));
+            }
+            log.debug("User code is held by another instance, drawing another");
+        }
+        throw new IllegalStateException("No free user code after " + MAX_USER_CODE_INSERTS + " inserts");
+    }
+
     /**
      * Build an interaction response from a list of interactions.
      *
@@ -106,7 +139,7 @@ public class InteractionService {
      * @return the interaction response
      */
     public GrantRequest.InteractInfo buildInteractResponse(List<Interaction> interactions) {
-        log.info("Building interaction response from {} interactions", interactions.size());
+        log.debug("Building interaction response from {} interactions", interactions.size());
         GrantRequest.InteractInfo interactInfo = new GrantRequest.InteractInfo();
 
         for (Interaction interaction : interactions) {
@@ -121,7 +154,7 @@ public class InteractionService {
                     break;
                 case USER_CODE:
                     Interaction.UserCode userCode = new Interaction.UserCode();
-                    userCode.setCode(generateUserCode());
+                    userCode.setCode(formatUserCode(interaction.getCode()));
                     userCode.setUri(interaction.getInteractionUrl());
                     interactInfo.setUserCode(userCode);
                     log.debug("Added USER_CODE interaction to response");
@@ -148,7 +181,7 @@ public class InteractionService {
             log.debug("No finish information added to response (no hash method found)");
         }
 
-        log.info("Completed building interaction response with redirect={}, app={}, userCode={}, finish={}",
+        log.debug("Completed building interaction response with redirect={}, app={}, userCode={}, finish={}",
                 interactInfo.getRedirect() != null,
                 interactInfo.getApp() != null,
                 interactInfo.getUserCode() != null,
@@ -157,16 +190,49 @@ public class InteractionService {
     }
 
     /**
-     * Generate a user code.
+     * Find the active interaction a user code was issued for.
      *
-     * @return the generated user code
+     * @param userCode the user code as entered, in any case and with or without separators
+     * @return the interaction if the code is valid and has not expired
      */
-    private String generateUserCode() {
-        log.debug("Generating new user code");
-        // Generate a 6-digit code
-        String code = String.format("%06d", (int) (Math.random() * 1000000));
-        log.debug("User code generated successfully");
-        return code;
+    @Transactional(readOnly = true)
+    public Optional<Interaction> findByUserCode(String userCode) {
+        String code = normalizeUserCode(userCode);
+        if (code.length() != userCodeAllocator.getCodeLength()) {
+            return Optional.empty();
+        }
+        return interactionRepository.findByCodeAndExpiresAtAfter(code, LocalDateTime.now());
+    }
+
+    /**
+     * Normalize an entered user code: upper case, without separators or whitespace.
+     *
+     * @param userCode the user code as entered
+     * @return the normalized user code
+     */
+    public static String normalizeUserCode(String userCode) {
+        StringBuilder code = new StringBuilder(userCode.length());
+        for (int i = 0; i < userCode.length(); i++) {
+            char c = Character.toUpperCase(userCode.charAt(i));
+            if (c >= 'A' && c <= 'Z') {
+                code.append(c);
+            }
+        }
+        return code.toString();
+    }
+
+    /**
+     * Format a user code for display, split in two halves by a dash.
+     *
+     * @param code the normalized user code
+     * @return the formatted user code, or null if there is none
+     */
+    public static String formatUserCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        int half = code.length() / 2;
+        return code.substring(0, half) + "-" + code.substring(half);
     }
 
     /**
@@ -179,12 +245,12 @@ public class InteractionService {
      */
     @Transactional(readOnly = true)
     public boolean validateInteraction(UUID grantId, String interactionId, String nonce) {
-        log.info("Validating interaction");
+        log.debug("Validating interaction");
 
         Optional<Interaction> interactionOptional = interactionRepository.findById(interactionId);
 
         if (interactionOptional.isEmpty()) {
-            log.info("Interaction validation failed: interaction not found");
+            log.debug("Interaction validation failed: interaction not found");
             return false;
         }
 
@@ -192,22 +258,22 @@ public class InteractionService {
 
         // Check if the interaction belongs to the grant
         if (!interaction.getGrant().getId().equals(grantId)) {
-            log.info("Interaction validation failed: interaction does not belong to the specified grant");
+            log.debug("Interaction validation failed: interaction does not belong to the specified grant");
             return false;
         }
 
         // Check if the interaction has expired
         if (interaction.getExpiresAt().isBefore(LocalDateTime.now())) {
-            log.info("Interaction validation failed: interaction has expired");
+            log.debug("Interaction validation failed: interaction has expired");
             return false;
         }
 
         // Check if the nonce matches (if provided)
         boolean nonceValid = interaction.getNonce() == null || interaction.getNonce().equals(nonce);
         if (!nonceValid) {
-            log.info("Interaction validation failed: nonce mismatch");
+            log.debug("Interaction validation failed: nonce mismatch");
         } else {
-            log.info("Interaction validation successful");
+            log.debug("Interaction validation successful");
         }
 
         return nonceValid;
@@ -221,26 +287,49 @@ public class InteractionService {
      */
     @Transactional(readOnly = true)
     public List<Interaction> findActiveInteractions(UUID grantId) {
-        log.info("Finding active interactions for grant");
+        log.debug("Finding active interactions for grant");
         List<Interaction> activeInteractions = interactionRepository.findByGrantIdAndExpiresAtAfter(grantId, LocalDateTime.now());
-        log.info("Found {} active interactions", activeInteractions.size());
+        log.debug("Found {} active interactions", activeInteractions.size());
         return activeInteractions;
     }
 
+    /**
+     * Release the user codes of a grant's interactions once the user has finished interacting, so that the
+     * codes can be handed out again and cannot be entered a second time. The interactions stay until they expire.
+     *
+     * @param grantId the grant ID
+     */
+    @Transactional
+    public void releaseUserCodes(UUID grantId) {
+        for (Interaction interaction : interactionRepository.findByGrantId(grantId)) {
+            if (interaction.getCode() != null) {
+                userCodeAllocator.release(interaction.getCode());
+                interaction.setCode(null);
+                log.debug("Released user code of finished interaction");
+            }
+        }
+    }
+
     /**
      * Clean up expired interactions.
+     *
+     * @return the number of interactions deleted
      */
     @Transactional
-    public void cleanupExpiredInteractions() {
+    public int cleanupExpiredInteractions() {
         log.info("Starting cleanup of expired interactions");
         List<Interaction> expiredInteractions = interactionRepository.findByExpiresAtBefore(LocalDateTime.now());
         log.info("Found {} expired interactions to clean up", expiredInteractions.size());
 
         if (!expiredInteractions.isEmpty()) {
             interactionRepository.deleteAll(expiredInteractions);
-            log.info("Successfully deleted {} expired interactions", expiredInteractions.size());
+            for (Interaction interaction : expiredInteractions) {
+                userCodeAllocator.release(interaction.getCode());
+            }
+            log.debug("Successfully deleted {} expired interactions", expiredInteractions.size());
         } else {
             log.debug("No expired interactions to clean up");
         }
+        return expiredInteractions.size();
     }
 }
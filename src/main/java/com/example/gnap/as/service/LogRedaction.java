@@ -0,0 +1,56 @@
+package com.example.gnap.as.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Redaction of secrets in log messages.
+ * Tokens are logged as a short SHA-256 fingerprint, so that log lines about the same token can be correlated
+ * without the token being usable by anyone reading the logs.
+ */
+public final class LogRedaction {
+
+    private static final int FINGERPRINT_BYTES = 4;
+
+    private LogRedaction() {
+    }
+
+    /**
+     * Wrap a token for logging. The fingerprint is only computed if the message is actually formatted,
+     * so the call is cheap on disabled log levels.
+     *
+     * @param token the token, may be null
+     * @return an argument that renders as the token's fingerprint
+     */
+    public static Object token(String token) {
+        return new RedactedToken(token);
+    }
+
+    /**
+     * Compute the fingerprint of a token.
+     *
+     * @param token the token, may be null
+     * @return sha256: followed by the first hex digits of the token's hash, or null
+     */
+    static String fingerprint(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(hash, 0, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record RedactedToken(String token) {
+
+        @Override
+        public String toString() {
+            return String.valueOf(fingerprint(token));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.gnap.as.service;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe set of non-negative longs, stored unboxed in one open-addressing table with linear probing.
+ * An entry costs 8 bytes of table at a load factor of at most 3/4, about 11 to 21 bytes per value, where a
+ * concurrent set of boxed Longs costs about 80. Removal shifts the following entries of the probe run back
+ * instead of leaving tombstones, so lookups stay short under churn. The table grows but never shrinks.
+ */
+class LongHashSet {
+
+    private static final long EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int mask;
+    private int size;
+
+    LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Create a set that holds the expected number of values without growing.
+     *
+     * @param expectedSize the expected number of values
+     */
+    LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value the value, not negative
+     * @return true if the value was not in the set
+     */
+    synchronized boolean add(long value) {
+        checkValue(value);
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size > maxSize(table.length)) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Remove a value.
+     *
+     * @param value the value
+     * @return true if the value was in the set
+     */
+    synchronized boolean remove(long value) {
+        if (value < 0) {
+            return false;
+        }
+        int slot = slot(value);
+        while (table[slot] != value) {
+            if (table[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        shiftBack(slot);
+        size--;
+        return true;
+    }
+
+    synchronized boolean contains(long value) {
+        if (value < 0) {
+            return false;
+        }
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Close the gap left at a removed slot by moving back each following entry of the run that may not sit
+     * between its home slot and the gap.
+     *
+     * @param gap the removed slot
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long value = table[slot];
+            if (value == EMPTY) {
+                table[gap] = EMPTY;
+                return;
+            }
+            int home = slot(value);
+            // Move the entry unless its home lies cyclically in (gap, slot]
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                table[gap] = value;
+                gap = slot;
+            }
+        }
+    }
+
+    private void grow() {
+        if (table.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Set is full: " + size);
+        }
+        long[] old = table;
+        allocate(old.length << 1);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = slot(value);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int slot(long value) {
+        // Fibonacci hashing spreads values that differ only in their low bits
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static int maxSize(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && maxSize(capacity) < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void checkValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.gnap.as.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache that evicts the least recently used entry once full.
+ * Entries live in a fixed number of lock stripes, each an access-ordered map bounded to its share of the
+ * maximum size, so lookups of unrelated keys rarely contend and a flood of new keys evicts cold entries
+ * instead of either growing the heap or locking the cache against new entries.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+class LruCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    LruCache(int maxSize) {
+        int stripeCount = Math.clamp(maxSize / 64, 1, STRIPES);
+        int entriesPerStripe = Math.max(1, maxSize / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(entriesPerStripe);
+        }
+    }
+
+    /**
+     * Get a cached value and mark it as recently used.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached
+     */
+    V get(K key) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.entries.get(key);
+        }
+    }
+
+    /**
+     * Cache a value unless one is already cached for its key, evicting the least recently used entry
+     * of the key's stripe if it is full.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the value now cached for the key
+     */
+    V putIfAbsent(K key, V value) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            V existing = stripe.entries.putIfAbsent(key, value);
+            return existing != null ? existing : value;
+        }
+    }
+
+    /**
+     * Get the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripe(K key) {
+        return stripes[(key.hashCode() & Integer.MAX_VALUE) % stripes.length];
+    }
+
+    /**
+     * A lock stripe holding the entries of the keys hashed to it.
+     */
+    private static class Stripe<K, V> {
+
+        private final Map<K, V> entries;
+
+        Stripe(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import com.example.gnap.as.model.Resource;
+import com.example.gnap.as.repository.ReactiveReadRepository;
+import com.example.gnap.as.repository.ReactiveReadRepository.AccessDefinitionRow;
+import com.example.gnap.as.repository.ReactiveReadRepository.GrantRow;
+import com.example.gnap.as.repository.ReactiveReadRepository.TokenRow;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking token introspection and continuation polling for the reactive profile.
+ * Mirrors {@link TokenService#introspectToken} and {@link GrantService#processContinuation} with R2DBC queries.
+ * Access definitions are immutable once interned, so they are cached in memory and a warm introspection
+ * costs two indexed queries. Approving a grant mints and stores its access tokens, so a poll that finds an
+ * approved grant is handed to the blocking GrantService on the bounded elastic scheduler; pending polls,
+ * the high-volume case, never block.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository repository;
+    private final TokenService tokenService;
+    private final InteractionService interactionService;
+    private final GrantService grantService;
+    private final GnapMetrics metrics;
+    // Bounded like the AccessDefinitionService cache
+    private final LruCache<UUID, AccessDefinition> accessDefinitions;
+
+    public ReactiveReadService(ReactiveReadRepository repository, TokenService tokenService,
+                               InteractionService interactionService, GrantService grantService,
+                               GnapMetrics metrics,
+                               @Value("${gnap.as.access-definition.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.tokenService = tokenService;
+        this.interactionService = interactionService;
+        this.grantService = grantService;
+        this.metrics = metrics;
+        this.accessDefinitions = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Introspect a token.
+     *
+     * @param token the token
+     * @return the access token with introspection information
+     */
+    public Mono<AccessToken> introspectToken(String token) {
+        return repository.findTokenByValue(token)
+                .flatMap(row -> row.expiresAt().isBefore(LocalDateTime.now())
+                        ? Mono.just(expired(row))
+                        : active(row))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    AccessToken inactiveToken = new AccessToken();
+                    inactiveToken.setParameters(Map.of("active", false));
+                    return inactiveToken;
+                }));
+    }
+
+    private AccessToken expired(TokenRow row) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setTokenValue(row.tokenValue());
+        accessToken.setParameters(Map.of("active", false));
+        return accessToken;
+    }
+
+    private Mono<AccessToken> active(TokenRow row) {
+        return resources(row.grantId(), row.resourceServer()).map(resources -> {
+            AccessToken accessToken = new AccessToken();
+            accessToken.setTokenValue(row.tokenValue());
+
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("active", true);
+            parameters.put("grant_id", row.grantId());
+            if (row.clientId() != null) {
+                parameters.put("client_id", row.clientId());
+            }
+            parameters.put("iat", row.createdAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+            accessToken.setParameters(parameters);
+
+            accessToken.setAccess(resources);
+            return accessToken;
+        });
+    }
+
+    /**
+     * Load the resources of a grant for a token's resource server, taking access definitions from the cache.
+     */
+    private Mono<List<Resource>> resources(UUID grantId, String resourceServer) {
+        return repository.findAccessDefinitionIdsByGrantId(grantId).collectList().flatMap(ids -> {
+            Map<UUID, AccessDefinition> definitions = new HashMap<>();
+            List<UUID> missing = new ArrayList<>();
+            for (UUID id : ids) {
+                AccessDefinition cached = accessDefinitions.get(id);
+                if (cached != null) {
+                    definitions.put(id, cached);
+                } else if (!missing.contains(id)) {
+                    missing.add(id);
+                }
+            }
+
+            Flux<AccessDefinitionRow> loaded = missing.isEmpty()
+                    ? Flux.empty()
+                    : repository.findAccessDefinitionsByIds(missing);
+
+            return loaded
+                    .doOnNext(row -> {
+                        definitions.put(row.id(), row.accessDefinition());
+                        accessDefinitions.putIfAbsent(row.id(), row.accessDefinition());
+                    })
+                    .then(Mono.fromSupplier(() -> ids.stream()
+                            .map(definitions::get)
+                            .filter(Objects::nonNull)
+                            .filter(definition -> resourceServer == null
+                                    || resourceServer.equals(definition.getResourceServer()))
+                            .map(definition -> {
+                                Resource resource = new Resource();
+                                resource.setAccessDefinition(definition);
+                                return resource;
+                            })
+                            .toList()));
+        });
+    }
+
+    /**
+     * Process a continuation request.
+     *
+     * @param grantId the grant ID
+     * @param continuationToken the continuation token
+     * @return the grant response, or a GnapException for an invalid token, unknown or expired grant
+     */
+    public Mono<GrantResponse> processContinuation(UUID grantId, String continuationToken) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.start();
+            // GrantService records the continuation timer itself for the approved grants delegated to it
+            AtomicBoolean delegated = new AtomicBoolean();
+
+            Mono<GrantRow> grant = tokenService.validateContinuationToken(grantId, continuationToken)
+                    ? repository.findGrantById(grantId)
+                    : Mono.error(GnapException.INVALID_CONTINUATION_TOKEN);
+
+            return grant
+                    .switchIfEmpty(Mono.error(() -> new GnapException(GnapException.Code.INVALID_CONTINUATION, "Grant not found: " + grantId)))
+                    .flatMap(row -> {
+                        // Expired grants are marked by the cleanup job; the poll itself stays read-only
+                        if (row.expiresAt().isBefore(LocalDateTime.now())) {
+                            return Mono.error(GnapException.GRANT_EXPIRED);
+                        }
+
+                        if (row.status() == GrantRequest.GrantStatus.APPROVED) {
+                            delegated.set(true);
+                            return Mono.fromCallable(() -> grantService.processContinuation(grantId, continuationToken))
+                                    .subscribeOn(Schedulers.boundedElastic());
+                        }
+
+                        return continueResponse(row);
+                    })
+                    .doOnSuccess(response -> {
+                        if (!delegated.get()) {
+                            metrics.stop(sample, GnapMetrics.GRANT_CONTINUATION, GnapMetrics.OUTCOME_SUCCESS, Tags.empty());
+                        }
+                    })
+                    .doOnError(RuntimeException.class, e -> {
+                        if (!delegated.get()) {
+                            metrics.stop(sample, GnapMetrics.GRANT_CONTINUATION, GnapMetrics.outcome(e), Tags.empty());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Build the response for a grant that has no access tokens to issue, as GrantService does.
+     */
+    private Mono<GrantResponse> continueResponse(GrantRow row) {
+        GrantRequest grant = new GrantRequest();
+        grant.setId(row.id());
+        grant.setStatus(row.status());
+
+        return repository.findInteractionsByGrant(grant).collectList().map(interactions -> {
+            GrantResponse.Continue continueInfo = new GrantResponse.Continue(
+                    "/gnap/grant/" + grant.getId(), tokenService.generateContinuationToken(grant), 5);
+
+            GrantResponse.Interact interact = null;
+            if (!interactions.isEmpty()) {
+                interact = GrantResponse.Interact.from(
+                        interactionService.buildInteractResponse(new ArrayList<Interaction>(interactions)));
+            }
+            return new GrantResponse(grant.getId(), continueInfo, interact, null);
+        });
+    }
+}
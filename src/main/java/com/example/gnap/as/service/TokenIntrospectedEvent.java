@@ -0,0 +1,27 @@
+package com.example.gnap.as.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a token introspection, including the token lookup.
+ */
+@Name("com.example.gnap.as.TokenIntrospected")
+@Label("Token Introspected")
+@Category({"GNAP", "Token"})
+@Description("An access token introspected by a resource server")
+@StackTrace(false)
+class TokenIntrospectedEvent extends jdk.jfr.Event {
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Active")
+    boolean active;
+
+    @Label("Resource Count")
+    int resourceCount;
+}
@@ -0,0 +1,31 @@
+package com.example.gnap.as.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a minted access or continuation token, covering claim serialization and signing.
+ */
+@Name("com.example.gnap.as.TokenMinted")
+@Label("Token Minted")
+@Category({"GNAP", "Token"})
+@Description("An access or continuation token signed by the authorization server")
+@StackTrace(false)
+class TokenMintedEvent extends jdk.jfr.Event {
+
+    @Label("Token Type")
+    String tokenType;
+
+    @Label("Resource Server")
+    String resourceServer;
+
+    @Label("Resource Count")
+    int resourceCount;
+
+    @Label("Access Claim Cached")
+    @Description("Whether the serialized access claim came from the AccessClaimCache")
+    boolean accessClaimCached;
+}
@@ -4,17 +4,31 @@ import com.example.gnap.as.model.AccessToken;
 import com.example.gnap.as.model.GrantRequest;
 import com.example.gnap.as.model.Resource;
 import com.example.gnap.as.repository.AccessTokenRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Key;
+import java.security.PublicKey;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
@@ -29,6 +43,8 @@ public class TokenService {
     private static final Logger log = LoggerFactory.getLogger(TokenService.class);
 
     private final AccessTokenRepository accessTokenRepository;
+    private final AccessClaimCache accessClaimCache;
+    private final JsonFactory jsonFactory;
 
     @Value("${gnap.as.token.lifetime:3600}")
     private int tokenLifetime;
@@ -36,18 +52,70 @@ public class TokenService {
     @Value("${gnap.as.issuer:https://auth.example.com}")
     private String issuer;
 
-    // In a production environment, this would be stored securely and not generated on startup
-    private final SecretKey jwtKey = Keys.hmacShaKeyFor(generateSecureRandomKey());
+    private final Key signingKey;
+    private final JwtParser jwtParser;
 
-    public TokenService(AccessTokenRepository accessTokenRepository) {
+    /**
+     * Create a token service signing with the HMAC key configured in gnap.as.token.signing-key, shared by every
+     * node so that a token issued by one verifies on the others, e.g. continuation tokens on reactive read nodes.
+     *
+     * @param accessTokenRepository the access token repository
+     * @param accessClaimCache the access claim cache
+     * @param objectMapper the object mapper
+     * @param signingKey the Base64-encoded key of at least 256 bits, or blank for a random key of this node only
+     */
+    @Autowired
+    public TokenService(AccessTokenRepository accessTokenRepository, AccessClaimCache accessClaimCache,
+                        ObjectMapper objectMapper, @Value("${gnap.as.token.signing-key:}") String signingKey) {
+        this(accessTokenRepository, accessClaimCache, objectMapper, Keys.hmacShaKeyFor(hmacKey(signingKey)), null);
+    }
+
+    /**
+     * Create a token service with explicit keys.
+     * The signature algorithm follows the signing key: an HMAC key signs with HS256, an RSA key
+     * with RS256, a P-256 key with ES256 and an Ed25519 key with EdDSA.
+     *
+     * @param accessTokenRepository the access token repository
+     * @param accessClaimCache the access claim cache
+     * @param objectMapper the object mapper
+     * @param signingKey the secret or private key used to sign tokens
+     * @param verificationKey the public key used to verify tokens, or null when signing with a secret key
+     */
+    public TokenService(AccessTokenRepository accessTokenRepository, AccessClaimCache accessClaimCache,
+                        ObjectMapper objectMapper, Key signingKey, PublicKey verificationKey) {
         this.accessTokenRepository = accessTokenRepository;
+        this.accessClaimCache = accessClaimCache;
+        this.jsonFactory = objectMapper.getFactory();
+        this.signingKey = signingKey;
+
+        JwtParserBuilder parserBuilder = Jwts.parser();
+        if (verificationKey != null) {
+            parserBuilder.verifyWith(verificationKey);
+        } else {
+            parserBuilder.verifyWith((SecretKey) signingKey);
+        }
+        this.jwtParser = parserBuilder.build();
+    }
+
+    /**
+     * Decode the configured HMAC key, or generate one when none is configured.
+     *
+     * @param signingKey the Base64-encoded key, or blank
+     * @return byte array containing the key
+     */
+    private static byte[] hmacKey(String signingKey) {
+        if (signingKey != null && !signingKey.isBlank()) {
+            return Base64.getDecoder().decode(signingKey.trim());
+        }
+        log.warn("No gnap.as.token.signing-key configured; tokens signed by this node verify on this node only");
+        return generateSecureRandomKey();
     }
 
     /**
      * Generate a secure random key for HMAC-SHA256
      * @return byte array containing the key
      */
-    private byte[] generateSecureRandomKey() {
+    private static byte[] generateSecureRandomKey() {
         SecureRandom secureRandom = new SecureRandom();
         byte[] key = new byte[32]; // 256 bits
         secureRandom.nextBytes(key);
@@ -61,15 +129,22 @@ public class TokenService {
      * @return the continuation token
      */
     public String generateContinuationToken(GrantRequest grant) {
-        return Jwts.builder()
+        TokenMintedEvent event = new TokenMintedEvent();
+        event.begin();
+
+        String token = Jwts.builder()
                 .subject(grant.getId().toString())
                 .issuer(issuer)
                 .issuedAt(new Date())
                 .expiration(Date.from(LocalDateTime.now().plusSeconds(tokenLifetime)
                         .atZone(ZoneId.systemDefault()).toInstant()))
                 .claim("token_type", "continuation")
-                .signWith(jwtKey)
+                .signWith(signingKey)
                 .compact();
+
+        event.tokenType = "continuation";
+        event.commit();
+        return token;
     }
 
     /**
@@ -81,17 +156,15 @@ public class TokenService {
      */
     public boolean validateContinuationToken(UUID grantId, String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(jwtKey)
-                    .build()
+            Claims claims = jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
 
-            claims.getSubject();
-            return true;
-        } catch (Exception e) {
-            log.error("Error validating continuation token", e);
-            return true;
+            return grantId.toString().equals(claims.getSubject())
+                    && "continuation".equals(claims.get("token_type", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid continuation token for grant {}: {}", grantId, e.getMessage());
+            return false;
         }
     }
 
@@ -141,6 +214,8 @@ public class TokenService {
 
     /**
      * Generate a JWT token.
+     * The access claim is taken pre-serialized from the AccessClaimCache, so only the
+     * per-token claims are written when minting.
      *
      * @param grant the grant
      * @param resources the resources
@@ -148,53 +223,50 @@ public class TokenService {
      * @return the JWT token
      */
     private String generateJwtToken(GrantRequest grant, List<Resource> resources, String resourceServer) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("grant_id", grant.getId());
-
-        if (grant.getClient() != null) {
-            claims.put("client_id", grant.getClient().getId());
+        TokenMintedEvent event = new TokenMintedEvent();
+        event.begin();
+
+        AccessClaimCache.AccessClaim accessClaim = accessClaimCache.lookup(resources);
+        SerializableString access = accessClaim.json();
+        long issuedAt = Instant.now().getEpochSecond();
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256 + access.charLength());
+        try (JsonGenerator generator = jsonFactory.createGenerator(payload)) {
+            generator.writeStartObject();
+            generator.writeStringField("grant_id", grant.getId().toString());
+
+            if (grant.getClient() != null) {
+                generator.writeStringField("client_id", grant.getClient().getId().toString());
+            }
+
+            if (grant.getUserId() != null) {
+                generator.writeStringField("sub", grant.getUserId().toString());
+            }
+
+            generator.writeFieldName("access");
+            generator.writeRawValue(access);
+            generator.writeStringField("iss", issuer);
+            generator.writeNumberField("iat", issuedAt);
+            generator.writeNumberField("exp", issuedAt + tokenLifetime);
+            generator.writeArrayFieldStart("aud");
+            generator.writeString(resourceServer);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing access token claims", e);
         }
 
-        if (grant.getUserId() != null) {
-            claims.put("sub", grant.getUserId());
-        }
-
-        // Add resource scopes
-        List<Map<String, Object>> scopes = resources.stream()
-                .map(resource -> {
-                    Map<String, Object> scope = new HashMap<>();
-                    scope.put("type", resource.getType());
-
-                    List<String> actionsList = resource.getActionsList();
-                    if (actionsList != null && !actionsList.isEmpty()) {
-                        scope.put("actions", actionsList);
-                    }
-
-                    List<String> locationsList = resource.getLocationsList();
-                    if (locationsList != null && !locationsList.isEmpty()) {
-                        scope.put("locations", locationsList);
-                    }
-
-                    List<String> dataTypesList = resource.getDataTypesList();
-                    if (dataTypesList != null && !dataTypesList.isEmpty()) {
-                        scope.put("datatypes", dataTypesList);
-                    }
-
-                    return scope;
-                })
-                .collect(Collectors.toList());
-
-        claims.put("access", scopes);
-
-        return Jwts.builder()
-                .claims(claims)
-                .issuer(issuer)
-                .issuedAt(new Date())
-                .expiration(Date.from(LocalDateTime.now().plusSeconds(tokenLifetime)
-                        .atZone(ZoneId.systemDefault()).toInstant()))
-                .audience().add(resourceServer).and()
-                .signWith(jwtKey)
+        String token = Jwts.builder()
+                .content(payload.toByteArray())
+                .signWith(signingKey)
                 .compact();
+
+        event.tokenType = "access";
+        event.resourceServer = resourceServer;
+        event.resourceCount = resources.size();
+        event.accessClaimCached = accessClaim.cached();
+        event.commit();
+        return token;
     }
 
     /**
@@ -205,6 +277,19 @@ public class TokenService {
      */
     @Transactional(readOnly = true)
     public AccessToken introspectToken(String token) {
+        TokenIntrospectedEvent event = new TokenIntrospectedEvent();
+        event.begin();
+
+        AccessToken accessToken = introspect(token);
+
+        event.found = accessToken.getId() != null;
+        event.active = Boolean.TRUE.equals(accessToken.getParameters().get("active"));
+        event.resourceCount = accessToken.getAccess() != null ? accessToken.getAccess().size() : 0;
+        event.commit();
+        return accessToken;
+    }
+
+    private AccessToken introspect(String token) {
         Optional<AccessToken> accessTokenOpt = accessTokenRepository.findByTokenValue(token);
 
         if (accessTokenOpt.isEmpty()) {
@@ -271,10 +356,13 @@ public class TokenService {
 
     /**
      * Clean up expired tokens.
+     *
+     * @return the number of tokens deleted
      */
     @Transactional
-    public void cleanupExpiredTokens() {
+    public int cleanupExpiredTokens() {
         List<AccessToken> expiredTokens = accessTokenRepository.findByExpiresAtBefore(LocalDateTime.now());
         accessTokenRepository.deleteAll(expiredTokens);
+        return expiredTokens.size();
     }
 }
\ No newline at end of file
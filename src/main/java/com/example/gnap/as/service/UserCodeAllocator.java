@@ -0,0 +1,167 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.repository.InteractionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+
+/**
+ * Allocator of user codes for USER_CODE interactions in the GNAP protocol.
+ * Every code held by an interaction row is tracked in memory as its base-20 value packed into a long, so a new
+ * code is drawn with SecureRandom and claimed with one set insertion instead of a database round trip per draw.
+ * The values are kept unboxed in a {@link LongHashSet}, as a node may hold millions of live codes.
+ * Codes are recycled once the row holding them is deleted or the code is cleared, after that transaction
+ * commits, and the set is rebuilt from the interaction table on startup. The unique user code index remains
+ * the authority when several instances share the database: a code another instance holds is kept as taken
+ * here once its insert conflicts, see {@link InteractionService}.
+ */
+@Service
+public class UserCodeAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCodeAllocator.class);
+
+    static final String ALPHABET = "BCDFGHJKLMNPQRSTVWXZ";
+    private static final int RADIX = ALPHABET.length();
+    // 20^14 is the largest power of 20 that fits in a long
+    private static final int MAX_CODE_LENGTH = 14;
+    private static final int MIN_CODE_LENGTH = 4;
+    private static final int MAX_ATTEMPTS = 32;
+
+    private final InteractionRepository interactionRepository;
+    private final int codeLength;
+    private final long codeSpace;
+    private final LongHashSet live = new LongHashSet();
+    private final SecureRandom random = new SecureRandom();
+
+    public UserCodeAllocator(InteractionRepository interactionRepository,
+                             @Value("${gnap.as.interaction.user-code-length:8}") int codeLength) {
+        if (codeLength < MIN_CODE_LENGTH || codeLength > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("User code length must be between " + MIN_CODE_LENGTH
+                    + " and " + MAX_CODE_LENGTH + ": " + codeLength);
+        }
+        this.interactionRepository = interactionRepository;
+        this.codeLength = codeLength;
+        long space = 1;
+        for (int i = 0; i < codeLength; i++) {
+            space *= RADIX;
+        }
+        this.codeSpace = space;
+    }
+
+    /**
+     * Rebuild the set of live codes from the interaction table, before any code is allocated.
+     */
+    @PostConstruct
+    public void rebuild() {
+        int loaded = 0;
+        for (String code : interactionRepository.findAllUserCodes()) {
+            long value = pack(code);
+            if (value >= 0 && live.add(value)) {
+                loaded++;
+            }
+        }
+        log.info("Loaded {} live user codes", loaded);
+    }
+
+    /**
+     * Allocate a code that no interaction holds. If the caller's transaction rolls back, the code is released.
+     *
+     * @return the allocated code, normalized
+     */
+    public String allocate() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long value = random.nextLong(codeSpace);
+            if (live.add(value)) {
+                releaseOnRollback(value);
+                return unpack(value);
+            }
+            log.debug("Drawn user code is taken, drawing another");
+        }
+        throw new IllegalStateException("No free user code after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Release a code whose interaction row is being deleted or cleared. The code is handed out again only
+     * after the caller's transaction commits, so a new interaction cannot claim it while the old row holds it.
+     *
+     * @param code the normalized code
+     */
+    public void release(String code) {
+        long value = pack(code);
+        if (value < 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    live.remove(value);
+                }
+            });
+        } else {
+            live.remove(value);
+        }
+    }
+
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Get the number of codes currently held.
+     *
+     * @return the number of live codes
+     */
+    int size() {
+        return live.size();
+    }
+
+    private void releaseOnRollback(long value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        live.remove(value);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Pack a code into its base-20 value.
+     *
+     * @param code the normalized code
+     * @return the value, or -1 if the code is not a code of this allocator
+     */
+    private long pack(String code) {
+        if (code == null || code.length() != codeLength) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = ALPHABET.indexOf(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * RADIX + digit;
+        }
+        return value;
+    }
+
+    private String unpack(long value) {
+        char[] code = new char[codeLength];
+        for (int i = codeLength - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % RADIX));
+            value /= RADIX;
+        }
+        return new String(code);
+    }
+}
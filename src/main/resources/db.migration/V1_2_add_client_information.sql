@@ -15,3 +15,7 @@ CREATE TABLE IF NOT EXISTS client_information (
 --comment: Add client_information_id column to client table
 ALTER TABLE client ADD COLUMN client_information_id uuid;
 ALTER TABLE client ADD CONSTRAINT fk_client_information FOREIGN KEY (client_information_id) REFERENCES client_information(id);
+
+--changeset gnap-as:007-1
+--comment: Add client_id column to client_information table
+ALTER TABLE client_information ADD COLUMN IF NOT EXISTS client_id uuid;
@@ -0,0 +1,32 @@
+--liquibase formatted sql
+
+--changeset gnap-as:008
+--comment: Index client lookups by key ID and instance ID
+CREATE INDEX IF NOT EXISTS idx_client_key_id ON client (key_id);
+CREATE INDEX IF NOT EXISTS idx_client_instance_id ON client (instance_id);
+
+--changeset gnap-as:009
+--comment: Index client_information lookups by client ID
+CREATE INDEX IF NOT EXISTS idx_client_information_client_id ON client_information (client_id);
+
+--changeset gnap-as:010
+--comment: Index grant_request lookups by client, user and expiry
+CREATE INDEX IF NOT EXISTS idx_grant_request_client_user_status ON grant_request (client_id, user_id, status);
+CREATE INDEX IF NOT EXISTS idx_grant_request_user_id ON grant_request (user_id) WHERE user_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_grant_request_expires_at ON grant_request (expires_at) WHERE status <> 'EXPIRED';
+
+--changeset gnap-as:011
+--comment: Index access_token lookups by token value, grant and expiry
+CREATE INDEX IF NOT EXISTS idx_access_token_token_value ON access_token USING hash (token_value);
+CREATE INDEX IF NOT EXISTS idx_access_token_grant_id ON access_token (grant_id);
+CREATE INDEX IF NOT EXISTS idx_access_token_expires_at ON access_token (expires_at);
+
+--changeset gnap-as:012
+--comment: Index interaction lookups by grant and expiry
+CREATE INDEX IF NOT EXISTS idx_interaction_grant_expires ON interaction (grant_id, expires_at);
+CREATE INDEX IF NOT EXISTS idx_interaction_expires_at ON interaction (expires_at);
+
+--changeset gnap-as:013
+--comment: Index resource lookups by grant
+CREATE INDEX IF NOT EXISTS idx_resource_grant_type ON resource (grant_id, type);
+CREATE INDEX IF NOT EXISTS idx_resource_grant_server ON resource (grant_id, resource_server);
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset gnap-as:014
+--comment: Store resource actions, locations and data types as native text arrays
+ALTER TABLE resource ALTER COLUMN actions TYPE text[] USING string_to_array(NULLIF(actions, ''), ',');
+ALTER TABLE resource ALTER COLUMN locations TYPE text[] USING string_to_array(NULLIF(locations, ''), ',');
+ALTER TABLE resource ALTER COLUMN data_types TYPE text[] USING string_to_array(NULLIF(data_types, ''), ',');
+
+--changeset gnap-as:015
+--comment: Index resource actions for containment queries
+CREATE INDEX IF NOT EXISTS idx_resource_actions ON resource USING gin (actions);
@@ -0,0 +1,63 @@
+--liquibase formatted sql
+
+--changeset gnap-as:016
+--comment: Create access_definition table for interned access shapes
+CREATE TABLE IF NOT EXISTS access_definition (
+    id uuid default uuid_generate_v4() not null primary key,
+    hash VARCHAR(64) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    resource_server VARCHAR(255),
+    actions text[],
+    locations text[],
+    data_types text[],
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_access_definition_hash UNIQUE (hash)
+);
+CREATE INDEX IF NOT EXISTS idx_access_definition_actions ON access_definition USING gin (actions);
+
+--changeset gnap-as:017
+--comment: Backfill access definitions from existing resources
+--comment: The hash mirrors AccessDefinition.canonicalHash (sorted, de-duplicated values joined with chr(31), fields with chr(30))
+ALTER TABLE resource ADD COLUMN access_definition_id uuid;
+ALTER TABLE resource ADD COLUMN access_hash VARCHAR(64);
+ALTER TABLE resource ADD COLUMN canonical_actions text[];
+ALTER TABLE resource ADD COLUMN canonical_locations text[];
+ALTER TABLE resource ADD COLUMN canonical_data_types text[];
+
+UPDATE resource SET
+    canonical_actions = NULLIF(ARRAY(SELECT DISTINCT v FROM unnest(actions) v ORDER BY v COLLATE "C"), '{}'),
+    canonical_locations = NULLIF(ARRAY(SELECT DISTINCT v FROM unnest(locations) v ORDER BY v COLLATE "C"), '{}'),
+    canonical_data_types = NULLIF(ARRAY(SELECT DISTINCT v FROM unnest(data_types) v ORDER BY v COLLATE "C"), '{}');
+
+UPDATE resource SET access_hash = encode(sha256(convert_to(concat_ws(chr(30),
+    type,
+    coalesce(resource_server, ''),
+    coalesce(array_to_string(canonical_actions, chr(31)), ''),
+    coalesce(array_to_string(canonical_locations, chr(31)), ''),
+    coalesce(array_to_string(canonical_data_types, chr(31)), '')), 'UTF8')), 'hex');
+
+INSERT INTO access_definition (hash, type, resource_server, actions, locations, data_types, created_at)
+SELECT DISTINCT ON (access_hash) access_hash, type, resource_server,
+    canonical_actions, canonical_locations, canonical_data_types, now()
+FROM resource
+ON CONFLICT (hash) DO NOTHING;
+
+UPDATE resource r SET access_definition_id = d.id
+FROM access_definition d
+WHERE d.hash = r.access_hash;
+
+--changeset gnap-as:018
+--comment: Reduce resource to a thin join between grants and access definitions
+ALTER TABLE resource ALTER COLUMN access_definition_id SET NOT NULL;
+ALTER TABLE resource ADD CONSTRAINT fk_resource_access_definition FOREIGN KEY (access_definition_id) REFERENCES access_definition(id);
+ALTER TABLE resource DROP COLUMN access_hash;
+ALTER TABLE resource DROP COLUMN canonical_actions;
+ALTER TABLE resource DROP COLUMN canonical_locations;
+ALTER TABLE resource DROP COLUMN canonical_data_types;
+ALTER TABLE resource DROP COLUMN type;
+ALTER TABLE resource DROP COLUMN resource_server;
+ALTER TABLE resource DROP COLUMN actions;
+ALTER TABLE resource DROP COLUMN locations;
+ALTER TABLE resource DROP COLUMN data_types;
+CREATE INDEX IF NOT EXISTS idx_resource_grant_id ON resource (grant_id);
+CREATE INDEX IF NOT EXISTS idx_resource_access_definition_id ON resource (access_definition_id);
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset gnap-as:019
+--comment: Add per-client rate limits; null uses the configured defaults
+ALTER TABLE client_information ADD COLUMN IF NOT EXISTS grant_rate_limit DOUBLE PRECISION;
+ALTER TABLE client_information ADD COLUMN IF NOT EXISTS grant_rate_burst INTEGER;
+ALTER TABLE client_information ADD COLUMN IF NOT EXISTS continuation_rate_limit DOUBLE PRECISION;
+ALTER TABLE client_information ADD COLUMN IF NOT EXISTS continuation_rate_burst INTEGER;
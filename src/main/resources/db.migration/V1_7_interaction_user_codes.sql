@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset gnap-as:020
+--comment: Persist user codes so that an entered code resolves to its interaction through a unique index
+ALTER TABLE interaction ADD COLUMN IF NOT EXISTS user_code VARCHAR(16);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_interaction_user_code ON interaction (user_code);
@@ -0,0 +1,107 @@
+package com.example.gnap.as.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AdaptiveConcurrencyLimit class.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void tryAcquire_atLimit_shouldReject() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = newLimit(2);
+
+        // Act
+        boolean first = limit.tryAcquire();
+        boolean second = limit.tryAcquire();
+        boolean third = limit.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void release_slowRequest_shouldDecreaseLimitOnceAndMarkCongested() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = newLimit(20);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limit.release(SLOW, false);
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+        assertTrue(limit.isCongested());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void release_singleSlowRequestAmongFastOnes_shouldNotMarkCongested() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = newLimit(20);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.release(i == 10 ? SLOW : FAST, false);
+        }
+
+        // Assert
+        assertFalse(limit.isCongested());
+    }
+
+    @Test
+    void release_slowShareBelowMinimumRequests_shouldNotMarkCongested() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = newLimit(20);
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            limit.tryAcquire();
+            limit.release(SLOW, false);
+        }
+
+        // Assert
+        assertFalse(limit.isCongested());
+    }
+
+    @Test
+    void release_fastRequestsAtHighUtilization_shouldIncreaseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = newLimit(4);
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            while (limit.tryAcquire()) {
+                // Fill the limit
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(FAST, false);
+            }
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 4);
+        assertFalse(limit.isCongested());
+    }
+
+    private static AdaptiveConcurrencyLimit newLimit(int initialLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, 1, 100, 0.5,
+                Duration.ofMillis(100), Duration.ofMinutes(1), 0.2, 10);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.config.AdmissionControlFilter.EndpointClass;
+import com.example.gnap.as.service.GnapMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AdmissionControlFilter class.
+ */
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limits.put(endpointClass, new AdaptiveConcurrencyLimit(1, 1, 10, 0.9,
+                    Duration.ofMillis(50), Duration.ofMinutes(1), 0.5, 2));
+        }
+        filter = new AdmissionControlFilter(limits, new GnapMetrics(meterRegistry),
+                new JsonCodecs(new ObjectMapper(), new CBORMapper()));
+    }
+
+    @Test
+    void doFilter_higherPriorityCongested_shouldShedLowerPriority() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimit introspection = limits.get(EndpointClass.INTROSPECTION);
+        for (int i = 0; i < 2; i++) {
+            introspection.tryAcquire();
+            introspection.release(Duration.ofSeconds(1).toNanos(), false);
+        }
+        MockHttpServletResponse grantResponse = new MockHttpServletResponse();
+        MockFilterChain grantChain = new MockFilterChain();
+        MockFilterChain introspectionChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/gnap/grant"), grantResponse, grantChain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/gnap/token/introspect"),
+                new MockHttpServletResponse(), introspectionChain);
+
+        // Assert
+        assertNull(grantChain.getRequest());
+        assertEquals(503, grantResponse.getStatus());
+        assertEquals("1", grantResponse.getHeader("Retry-After"));
+        assertNotNull(introspectionChain.getRequest());
+        assertEquals(1.0, meterRegistry.counter(GnapMetrics.ADMISSION_REJECTED,
+                "endpoint", "grant", "reason", AdmissionControlFilter.REASON_PRIORITY).count());
+    }
+
+    @Test
+    void doFilter_atLimit_shouldShed() throws Exception {
+        // Arrange
+        limits.get(EndpointClass.CONTINUATION).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/123"), response, chain);
+
+        // Assert
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"code\":\"too_fast\""));
+        assertEquals(1.0, meterRegistry.counter(GnapMetrics.ADMISSION_REJECTED,
+                "endpoint", "continuation", "reason", AdmissionControlFilter.REASON_LIMIT).count());
+    }
+
+    @Test
+    void endpointClass_shouldClassifyGnapEndpoints() {
+        // Assert
+        assertEquals(EndpointClass.GRANT, EndpointClass.of("POST", "/gnap/grant"));
+        assertEquals(EndpointClass.CONTINUATION, EndpointClass.of("GET", "/gnap/grant/123"));
+        assertEquals(EndpointClass.CONTINUATION, EndpointClass.of("PUT", "/gnap/grant/123/status"));
+        assertEquals(EndpointClass.INTROSPECTION, EndpointClass.of("POST", "/gnap/token/revoke"));
+        assertEquals(EndpointClass.INTERACTION, EndpointClass.of("GET", "/gnap/interact/redirect/123"));
+        assertNull(EndpointClass.of("GET", "/gnap/clients/123"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the BulkheadFilter class.
+ */
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkhead interaction;
+    private Bulkhead api;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interaction = new Bulkhead("interaction", 1, Duration.ofMillis(10));
+        api = new Bulkhead("api", 2, Duration.ofMillis(10));
+        filter = new BulkheadFilter(interaction, api, new GnapMetrics(meterRegistry),
+                new JsonCodecs(new ObjectMapper(), new CBORMapper()));
+    }
+
+    @Test
+    void doFilter_interactionFull_shouldRejectInteractionButAdmitApi() throws Exception {
+        // Arrange
+        assertTrue(interaction.tryAcquire());
+        MockHttpServletResponse interactionResponse = new MockHttpServletResponse();
+        MockFilterChain interactionChain = new MockFilterChain();
+        MockFilterChain apiChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/interact/redirect/123"),
+                interactionResponse, interactionChain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/gnap/token/introspect"),
+                new MockHttpServletResponse(), apiChain);
+
+        // Assert
+        assertNull(interactionChain.getRequest());
+        assertEquals(503, interactionResponse.getStatus());
+        assertEquals("1", interactionResponse.getHeader("Retry-After"));
+        assertTrue(interactionResponse.getContentAsString().contains("\"code\":\"too_fast\""));
+        assertNotNull(apiChain.getRequest());
+        assertEquals(0, api.getInFlight());
+        assertEquals(1.0, meterRegistry.counter(GnapMetrics.BULKHEAD_REJECTED, "bulkhead", "interaction").count());
+        assertEquals(1.0, meterRegistry.get(GnapMetrics.BULKHEAD_IN_FLIGHT).tag("bulkhead", "interaction")
+                .gauge().value());
+        assertEquals(2.0, meterRegistry.get(GnapMetrics.BULKHEAD_MAX).tag("bulkhead", "api").gauge().value());
+    }
+
+    @Test
+    void bulkhead_shouldSeparateInteractionFromApiPaths() {
+        // Assert
+        assertSame(interaction, filter.bulkhead("/gnap/interact/user-code/123"));
+        assertSame(api, filter.bulkhead("/gnap/grant"));
+        assertSame(api, filter.bulkhead("/gnap/grant/123/status"));
+        assertSame(api, filter.bulkhead("/gnap/token/revoke"));
+        assertNull(filter.bulkhead("/gnap/clients/123"));
+    }
+}
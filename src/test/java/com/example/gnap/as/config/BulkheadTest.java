@@ -0,0 +1,67 @@
+package com.example.gnap.as.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Bulkhead class.
+ */
+class BulkheadTest {
+
+    @Test
+    void tryAcquire_fullUntilTimeout_shouldReject() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("api", 1, Duration.ofMillis(50));
+        bulkhead.tryAcquire();
+        long start = System.nanoTime();
+
+        // Act
+        boolean acquired = bulkhead.tryAcquire();
+
+        // Assert
+        assertFalse(acquired);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void tryAcquire_fullOnPlatformThread_shouldWaitForRelease() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("api", 1, Duration.ofSeconds(10));
+        bulkhead.tryAcquire();
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        // Act
+        Thread waiter = Thread.ofPlatform().start(() -> acquired.set(bulkhead.tryAcquire()));
+        while (bulkhead.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        bulkhead.release();
+        waiter.join();
+
+        // Assert
+        assertTrue(acquired.get());
+    }
+
+    @Test
+    void tryAcquire_fullOnVirtualThread_shouldWaitForRelease() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("api", 1, Duration.ofSeconds(10));
+        bulkhead.tryAcquire();
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        // Act
+        Thread waiter = Thread.ofVirtual().start(() -> acquired.set(bulkhead.tryAcquire()));
+        while (bulkhead.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        bulkhead.release();
+        waiter.join();
+
+        // Assert
+        assertTrue(acquired.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.service.GnapMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ConcurrencyLimitFilter class.
+ */
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void doFilter_withinLimit_shouldPassThroughAndReleasePermit() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10),
+                new GnapMetrics(new SimpleMeterRegistry()), new JsonCodecs(new ObjectMapper(), new CBORMapper()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/gnap/grant"), response, chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_overLimit_shouldRejectWithServiceUnavailable() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10),
+                new GnapMetrics(meterRegistry), new JsonCodecs(new ObjectMapper(), new CBORMapper()));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", "/gnap/grant"), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/gnap/grant"), response, chain);
+        release.countDown();
+        holder.join();
+
+        // Assert
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"code\":\"too_fast\""));
+        assertEquals(1.0, meterRegistry.counter(GnapMetrics.CONCURRENCY_REJECTED).count());
+        assertEquals(1, filter.availablePermits());
+    }
+}
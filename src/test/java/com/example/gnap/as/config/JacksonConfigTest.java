@@ -0,0 +1,127 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.dto.AccessTokenResponse;
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.GrantRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JacksonConfig class.
+ */
+class JacksonConfigTest {
+
+    private final JacksonConfig config = new JacksonConfig();
+    private final StreamReadConstraints constraints = config.streamReadConstraints(DataSize.ofKilobytes(1), 16, 4);
+    private final ObjectMapper objectMapper = config.objectMapper(constraints);
+    private final CBORMapper cborMapper = config.cborMapper(constraints);
+    private final JsonCodecs jsonCodecs = config.jsonCodecs(objectMapper, cborMapper);
+
+    @Test
+    void grantRequestReader_shouldReadGrantRequestWithBlackbird() throws Exception {
+        // Arrange
+        String json = """
+                {"access_token": [{"label": "photos"}], "interact": {"finish": {"method": "redirect"}}}""";
+
+        // Act
+        GrantRequest request = jsonCodecs.grantRequestReader().readValue(json);
+
+        // Assert
+        assertTrue(objectMapper.getRegisteredModuleIds().stream()
+                .anyMatch(id -> id.toString().contains("Blackbird")));
+        assertEquals("photos", request.getAccessTokenList().getFirst().getLabel());
+        assertEquals("redirect", request.getInteractInfo().getFinish().getMethod());
+    }
+
+    @Test
+    void objectMapper_oversizedDocument_shouldFailWhileParsing() {
+        // Arrange
+        String tooDeep = "{\"a\":{\"b\":{\"c\":{\"d\":{\"e\":{}}}}}}";
+        String tooLong = "{\"access_token\": [{\"label\": \"" + "x".repeat(17) + "\"}]}";
+
+        // Act
+        JsonProcessingException depth = assertThrows(JsonProcessingException.class,
+                () -> objectMapper.readTree(tooDeep));
+        JsonProcessingException length = assertThrows(JsonProcessingException.class,
+                () -> jsonCodecs.grantRequestReader().readValue(tooLong));
+
+        // Assert
+        assertTrue(depth.getMessage().contains("nesting depth"));
+        assertTrue(length.getMessage().contains("String value length"));
+    }
+
+    @Test
+    void cborGrantRequestReader_shouldReadCborWithTheSameLimits() throws Exception {
+        // Arrange
+        byte[] request = cborMapper.writeValueAsBytes(Map.of("access_token", List.of(Map.of("label", "photos"))));
+        byte[] tooLong = cborMapper.writeValueAsBytes(Map.of("access_token", List.of(Map.of("label", "x".repeat(17)))));
+
+        // Act
+        GrantRequest grantRequest = jsonCodecs.cborGrantRequestReader().readValue(request);
+        JsonProcessingException length = assertThrows(JsonProcessingException.class,
+                () -> jsonCodecs.cborGrantRequestReader().readValue(tooLong));
+
+        // Assert
+        assertEquals("photos", grantRequest.getAccessTokenList().getFirst().getLabel());
+        assertTrue(length.getMessage().contains("String value length"));
+    }
+
+    @Test
+    void grantRequestConverters_shouldReadGrantRequestsWithTighterLimits() throws Exception {
+        // Arrange
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        config.grantRequestConverters(DataSize.ofKilobytes(1), 8, 4).extendMessageConverters(List.of(converter));
+        String body = "{\"state\": {\"k\": \"" + "x".repeat(9) + "\"}}";
+
+        // Act
+        HttpMessageNotReadableException grantFailure = assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(GrantRequest.class, jsonInput(body)));
+        Map<?, ?> other = (Map<?, ?>) converter.read(Map.class, jsonInput(body));
+
+        // Assert
+        assertTrue(grantFailure.getMessage().contains("String value length"));
+        assertEquals(1, other.size());
+    }
+
+    @Test
+    void gnapResponseConverter_shouldWriteResponsesAsJsonWithSharedWriters() throws Exception {
+        // Arrange
+        GnapResponseHttpMessageConverter converter = new GnapResponseHttpMessageConverter(jsonCodecs);
+        GrantResponse response = new GrantResponse(UUID.randomUUID(),
+                new GrantResponse.Continue("/gnap/grant/1", "token", 5), null, null);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(response, null, output);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(response), output.getBodyAsString(StandardCharsets.UTF_8));
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        assertTrue(converter.canWrite(AccessTokenResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(GrantResponse.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(GrantResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    private static MockHttpInputMessage jsonInput(String body) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.gnap.as.config;
+
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.ClientInformation;
+import com.example.gnap.as.service.ClientService;
+import com.example.gnap.as.service.GnapMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the RateLimitFilter class.
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    private static final String GRANT_REQUEST = """
+            {"access_token": {"access": ["read"]}, "client": {"key": {"proof": "httpsig"}, "kid": "client-key"}}""";
+
+    @Mock
+    private ClientService clientService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(
+                new TokenBucketLimiter(1000, Duration.ofMinutes(5)),
+                new TokenBucketLimiter.Limit(0.001, 3),
+                new TokenBucketLimiter.Limit(0.001, 2),
+                new TokenBucketLimiter.Limit(0.001, 1),
+                1024,
+                clientService, new GnapMetrics(meterRegistry), new JsonCodecs(new ObjectMapper(), new CBORMapper()));
+    }
+
+    @Test
+    void doFilter_grantOverClientLimit_shouldRejectWithTooFast() throws Exception {
+        // Arrange
+        ClientInformation information = new ClientInformation();
+        information.setGrantRateLimit(0.001);
+        information.setGrantRateBurst(1);
+        Client client = new Client();
+        client.setClientInformation(information);
+        when(clientService.findByKeyId("client-key")).thenReturn(Optional.of(client));
+        MockFilterChain allowedChain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(grantRequest(), new MockHttpServletResponse(), allowedChain);
+        filter.doFilter(grantRequest(), rejected, rejectedChain);
+
+        // Assert
+        assertNotNull(allowedChain.getRequest());
+        assertEquals(GRANT_REQUEST,
+                new String(allowedChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(rejectedChain.getRequest());
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"code\":\"too_fast\""));
+        assertEquals(1.0, meterRegistry.counter(GnapMetrics.RATE_LIMITED, "endpoint", RateLimitFilter.GRANT).count());
+        verify(clientService, times(1)).findByKeyId("client-key");
+    }
+
+    @Test
+    void doFilter_unknownKeyIds_shouldBeLimitedOnlyPerAddress() throws Exception {
+        // Arrange
+        when(clientService.findByKeyId(any())).thenReturn(Optional.empty());
+        MockFilterChain unknownChain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(grantRequest(GRANT_REQUEST.replace("client-key", "unknown-1")),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(grantRequest(GRANT_REQUEST.replace("client-key", "unknown-1")),
+                new MockHttpServletResponse(), unknownChain);
+        filter.doFilter(grantRequest(GRANT_REQUEST.replace("client-key", "unknown-1")),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(grantRequest(GRANT_REQUEST.replace("client-key", "unknown-2")), rejected, rejectedChain);
+
+        // Assert
+        assertNotNull(unknownChain.getRequest());
+        assertNull(rejectedChain.getRequest());
+        assertEquals(429, rejected.getStatus());
+        verify(clientService, times(1)).findByKeyId("unknown-1");
+        verify(clientService, never()).findByKeyId("unknown-2");
+    }
+
+    @Test
+    void doFilter_cachedBody_shouldNotifyReadListenerOfAllData() throws Exception {
+        // Arrange
+        when(clientService.findByKeyId("client-key")).thenReturn(Optional.of(new Client()));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(grantRequest(GRANT_REQUEST), new MockHttpServletResponse(), chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ReadListener listener = mock(ReadListener.class);
+
+        // Act
+        input.setReadListener(listener);
+
+        // Assert
+        verify(listener).onDataAvailable();
+        verify(listener).onAllDataRead();
+    }
+
+    @Test
+    void doFilter_continuation_shouldLimitPerGrant() throws Exception {
+        // Arrange
+        UUID grantId = UUID.randomUUID();
+        UUID otherGrantId = UUID.randomUUID();
+        when(clientService.findByGrantId(any())).thenReturn(Optional.of(new Client()));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain otherChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + grantId),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + grantId), rejected, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + otherGrantId),
+                new MockHttpServletResponse(), otherChain);
+
+        // Assert
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(otherChain.getRequest());
+        assertEquals(1.0,
+                meterRegistry.counter(GnapMetrics.RATE_LIMITED, "endpoint", RateLimitFilter.CONTINUATION).count());
+    }
+
+    @Test
+    void doFilter_unknownGrantIds_shouldBeLimitedOnlyPerAddress() throws Exception {
+        // Arrange
+        UUID unknownGrantId = UUID.randomUUID();
+        UUID otherUnknownGrantId = UUID.randomUUID();
+        when(clientService.findByGrantId(any())).thenReturn(Optional.empty());
+        MockFilterChain unknownChain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + unknownGrantId),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + unknownGrantId),
+                new MockHttpServletResponse(), unknownChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + unknownGrantId),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/gnap/grant/" + otherUnknownGrantId), rejected, rejectedChain);
+
+        // Assert
+        assertNotNull(unknownChain.getRequest());
+        assertNull(rejectedChain.getRequest());
+        assertEquals(429, rejected.getStatus());
+        verify(clientService, times(1)).findByGrantId(unknownGrantId);
+        verify(clientService, never()).findByGrantId(otherUnknownGrantId);
+    }
+
+    @Test
+    void doFilter_oversizedGrantRequest_shouldRejectWithoutBuffering() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gnap/grant");
+        request.setContentType("application/json");
+        request.setContent(("{\"state\": \"" + "x".repeat(1024) + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNull(chain.getRequest());
+        assertEquals(400, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"code\":\"invalid_request\""));
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    void clientKeyId_shouldReadOnlyTheClientObject() throws Exception {
+        // Arrange
+        byte[] cborRequest = new CBORMapper().writeValueAsBytes(new ObjectMapper().readTree(GRANT_REQUEST));
+
+        // Act
+        String keyId = filter.clientKeyId(GRANT_REQUEST.getBytes(StandardCharsets.UTF_8), false);
+        String cborKeyId = filter.clientKeyId(cborRequest, true);
+        String nested = filter.clientKeyId("{\"access_token\": {\"kid\": \"other\"}, \"client\": \"instance\"}"
+                .getBytes(StandardCharsets.UTF_8), false);
+        String invalid = filter.clientKeyId("{\"client\": {".getBytes(StandardCharsets.UTF_8), false);
+
+        // Assert
+        assertEquals("client-key", keyId);
+        assertEquals("client-key", cborKeyId);
+        assertNull(nested);
+        assertNull(invalid);
+    }
+
+    private static MockHttpServletRequest grantRequest() {
+        return grantRequest(GRANT_REQUEST);
+    }
+
+    private static MockHttpServletRequest grantRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/gnap/grant");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.gnap.as.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RequestLog class.
+ */
+class RequestLogTest {
+
+    @Test
+    void sampled_withZeroRate_shouldOnlyLogServerErrorsAndSlowRequests() {
+        // Arrange
+        RequestLog requestLog = new RequestLog(0.0, Duration.ofMillis(500));
+
+        // Act
+        boolean fastSuccess = requestLog.sampled(200, Duration.ofMillis(5).toNanos());
+        boolean fastClientError = requestLog.sampled(401, Duration.ofMillis(5).toNanos());
+        boolean serverError = requestLog.sampled(503, Duration.ofMillis(5).toNanos());
+        boolean slowSuccess = requestLog.sampled(200, Duration.ofMillis(500).toNanos());
+
+        // Assert
+        assertFalse(fastSuccess);
+        assertFalse(fastClientError);
+        assertTrue(serverError);
+        assertTrue(slowSuccess);
+    }
+
+    @Test
+    void sampled_withFullRate_shouldLogEveryRequest() {
+        // Arrange
+        RequestLog requestLog = new RequestLog(1.0, Duration.ofMillis(500));
+
+        // Act
+        boolean fastSuccess = requestLog.sampled(200, Duration.ofMillis(5).toNanos());
+
+        // Assert
+        assertTrue(fastSuccess);
+    }
+}
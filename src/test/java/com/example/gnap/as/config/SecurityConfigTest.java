@@ -0,0 +1,146 @@
+package com.example.gnap.as.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the SecurityConfig class.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus,jfr",
+        "gnap.as.actuator.password={noop}secret",
+        "spring.security.user.name=operator",
+        "spring.security.user.password=operator-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void actuatorHealth_shouldBePublic() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/actuator/health"));
+
+        // Assert
+        result.andExpect(status().isOk());
+    }
+
+    @Test
+    void actuatorPrometheus_withoutCredentials_shouldBeUnauthorized() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/actuator/prometheus"));
+
+        // Assert
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void actuatorPrometheus_withOperatorCredentials_shouldBeServed() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("actuator", "secret")));
+
+        // Assert
+        result.andExpect(status().isOk());
+    }
+
+    @Test
+    void actuatorJfr_withWrongCredentials_shouldBeUnauthorized() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/actuator/jfr").with(httpBasic("actuator", "wrong")));
+
+        // Assert
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void actuatorRead_withOperatorCredentials_shouldSetCsrfCookie() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/actuator/jfr").with(httpBasic("actuator", "secret")));
+
+        // Assert
+        result.andExpect(status().isOk())
+                .andExpect(cookie().exists("XSRF-TOKEN"));
+    }
+
+    @Test
+    void actuatorWrite_withoutCsrfToken_shouldBeForbidden() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(delete("/actuator/jfr").with(httpBasic("actuator", "secret")));
+
+        // Assert
+        result.andExpect(status().isForbidden());
+    }
+
+    @Test
+    void actuatorWrite_withCsrfTokenFromCookie_shouldBeServed() throws Exception {
+        // Arrange
+        Cookie csrfCookie = mockMvc.perform(get("/actuator/jfr").with(httpBasic("actuator", "secret")))
+                .andReturn().getResponse().getCookie("XSRF-TOKEN");
+
+        // Act
+        ResultActions result = mockMvc.perform(delete("/actuator/jfr")
+                .with(httpBasic("actuator", "secret"))
+                .cookie(csrfCookie)
+                .header("X-XSRF-TOKEN", csrfCookie.getValue()));
+
+        // Assert
+        result.andExpect(status().isOk());
+    }
+
+    @Test
+    void grantStatusUpdate_withoutCredentials_shouldBeUnauthorized() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(put("/gnap/grant/" + UUID.randomUUID() + "/status")
+                .param("status", "APPROVED"));
+
+        // Assert
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void apiRequest_withOperatorCredentials_shouldNotCreateSession() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(put("/gnap/grant/" + UUID.randomUUID() + "/status")
+                .param("status", "APPROVED")
+                .with(httpBasic("operator", "operator-secret")));
+
+        // Assert
+        MvcResult mvcResult = result.andReturn();
+        // Authenticated, so the controller rejects the Basic credentials as a continuation token
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("\"code\":\"invalid_continuation\""));
+        assertNull(mvcResult.getRequest().getSession(false));
+        assertNull(mvcResult.getResponse().getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void interactionPost_withoutCsrfToken_shouldBeForbidden() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(post("/gnap/interact/consent/" + UUID.randomUUID())
+                .param("approved", "true"));
+
+        // Assert
+        result.andExpect(status().isForbidden());
+    }
+}
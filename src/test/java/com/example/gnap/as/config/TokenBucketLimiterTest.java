@@ -0,0 +1,74 @@
+package com.example.gnap.as.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the TokenBucketLimiter class.
+ */
+class TokenBucketLimiterTest {
+
+    @Test
+    void tryAcquire_overBurst_shouldRejectWithTimeUntilRefilled() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1000, Duration.ofMinutes(5));
+        TokenBucketLimiter.Limit limit = new TokenBucketLimiter.Limit(1, 2);
+
+        // Act
+        long first = limiter.tryAcquire("key", key -> limit);
+        long second = limiter.tryAcquire("key", key -> limit);
+        long third = limiter.tryAcquire("key", key -> limit);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > 0 && third <= 1_000_000_000L);
+    }
+
+    @Test
+    void tryAcquire_shouldResolveLimitOncePerKey() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1000, Duration.ofMinutes(5));
+        int[] resolved = new int[1];
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key", key -> {
+                resolved[0]++;
+                return new TokenBucketLimiter.Limit(1, 10);
+            });
+        }
+        limiter.tryAcquire("other", key -> {
+            resolved[0]++;
+            return new TokenBucketLimiter.Limit(1, 10);
+        });
+
+        // Assert
+        assertEquals(2, resolved[0]);
+    }
+
+    @Test
+    void tryAcquire_unlimitedKey_shouldBeResolvedOnceWithoutEvictingBuckets() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(64, Duration.ofMinutes(5));
+        TokenBucketLimiter.Limit limit = new TokenBucketLimiter.Limit(0.001, 1);
+        limiter.tryAcquire("limited", key -> limit);
+        int[] resolved = new int[1];
+
+        // Act
+        for (int i = 0; i <= 1000; i++) {
+            limiter.tryAcquire("unlimited-" + Math.min(i, 999), key -> {
+                resolved[0]++;
+                return null;
+            });
+        }
+        long limited = limiter.tryAcquire("limited", key -> limit);
+
+        // Assert
+        assertEquals(1000, resolved[0]);
+        assertTrue(limited > 0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.gnap.as.controller;
+
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.repository.AccessTokenRepository;
+import com.example.gnap.as.service.AccessClaimCache;
+import com.example.gnap.as.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JfrRecordingEndpoint class.
+ */
+class JfrRecordingEndpointTest {
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint();
+        ReflectionTestUtils.setField(endpoint, "maxDuration", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(endpoint, "maxSize", DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void start_shouldCapDurationAtMaximum() {
+        // Act
+        Map<String, Object> status = endpoint.start(3600L, null);
+
+        // Assert
+        assertEquals("RUNNING", status.get("state"));
+        assertEquals(Duration.ofMinutes(1), status.get("duration"));
+        assertEquals(DataSize.ofMegabytes(10).toBytes(), status.get("maxSize"));
+    }
+
+    @Test
+    void dump_shouldContainGnapEventsRecordedWhileRunning() throws Exception {
+        // Arrange
+        TokenService tokenService = new TokenService(Mockito.mock(AccessTokenRepository.class),
+                new AccessClaimCache(new ObjectMapper(), 100), new ObjectMapper(), Jwts.SIG.HS256.key().build(), null);
+        ReflectionTestUtils.setField(tokenService, "tokenLifetime", 3600);
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+
+        endpoint.start(null, null);
+        tokenService.generateContinuationToken(grant);
+        endpoint.stop();
+
+        // Act
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        Path copy = Files.createTempFile("jfr-test-", ".jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(copy).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.gnap.as.TokenMinted"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("continuation", events.getFirst().getString("tokenType"));
+        Files.delete(copy);
+    }
+
+    @Test
+    void dump_shouldDeleteEachDumpOnceRead() throws Exception {
+        // Arrange
+        endpoint.start(null, null);
+        Resource first = endpoint.dump("dump").getBody();
+        Resource second = endpoint.dump("dump").getBody();
+        Path firstFile = first.getFile().toPath();
+        Path secondFile = second.getFile().toPath();
+
+        // Act
+        first.getInputStream().close();
+
+        // Assert
+        assertNotEquals(firstFile, secondFile);
+        assertFalse(Files.exists(firstFile));
+        assertTrue(Files.exists(secondFile));
+        endpoint.stop();
+        second.getInputStream().close();
+        assertFalse(Files.exists(secondFile));
+    }
+
+    @Test
+    void dump_withoutRecording_shouldReturnNotFound() {
+        // Act
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+
+        // Assert
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, response.getStatus());
+    }
+}
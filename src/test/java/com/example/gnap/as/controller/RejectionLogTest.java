@@ -0,0 +1,58 @@
+package com.example.gnap.as.controller;
+
+import com.example.gnap.as.service.GnapException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RejectionLog class.
+ */
+class RejectionLogTest {
+
+    @Test
+    void record_overLimit_shouldSuppressPerErrorCode() {
+        // Arrange
+        RejectionLog rejectionLog = new RejectionLog(2, Duration.ofHours(1));
+
+        // Act
+        boolean first = rejectionLog.record(GnapException.INVALID_CONTINUATION_TOKEN);
+        boolean second = rejectionLog.record(GnapException.GRANT_EXPIRED);
+        boolean third = rejectionLog.record(GnapException.INVALID_CONTINUATION_TOKEN);
+        boolean otherCode = rejectionLog.record(GnapException.CLIENT_AUTHENTICATION_FAILED);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(otherCode);
+    }
+
+    @Test
+    void record_afterInterval_shouldLogAgain() throws InterruptedException {
+        // Arrange
+        RejectionLog rejectionLog = new RejectionLog(1, Duration.ofMillis(20));
+        rejectionLog.record(GnapException.CLIENT_AUTHENTICATION_FAILED);
+        boolean suppressed = rejectionLog.record(GnapException.CLIENT_AUTHENTICATION_FAILED);
+
+        // Act
+        Thread.sleep(30);
+        boolean nextInterval = rejectionLog.record(GnapException.CLIENT_AUTHENTICATION_FAILED);
+
+        // Assert
+        assertFalse(suppressed);
+        assertTrue(nextInterval);
+    }
+
+    @Test
+    void gnapException_shouldNotCaptureStackTrace() {
+        // Act
+        GnapException e = new GnapException(GnapException.Code.INVALID_REQUEST, "Grant not found");
+
+        // Assert
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("invalid_request", e.getCode().getValue());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gnap.as.dto;
+
+import com.example.gnap.as.config.JacksonConfig;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import com.example.gnap.as.model.Resource;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GrantResponse class.
+ */
+class GrantResponseTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(StreamReadConstraints.defaults());
+
+    @Test
+    void grantResponse_shouldSerializeLikeTheGrantEntity() throws Exception {
+        // Arrange
+        Resource resource = new Resource();
+        resource.setType("photo-api");
+        resource.setActionsList(List.of("read", "write"));
+        resource.setResourceServer("https://rs.example.com");
+        AccessToken accessToken = new AccessToken();
+        accessToken.setTokenValue("token-value");
+        accessToken.setAccess(List.of(resource));
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        grant.setStatus(GrantRequest.GrantStatus.APPROVED);
+        grant.setContinueInfo(new GrantRequest.ContinueInfo("https://as.example.com/gnap/grant/1", "continue", 5));
+        grant.setInteractInfo(new GrantRequest.InteractInfo("https://as.example.com/interact", null,
+                new Interaction.UserCode("ABCD-1234", null), new Interaction.Finish(null, "sha-256")));
+        grant.setAccessTokenList(List.of(accessToken));
+        GrantResponse response = new GrantResponse(grant.getId(),
+                new GrantResponse.Continue("https://as.example.com/gnap/grant/1", "continue", 5),
+                GrantResponse.Interact.from(grant.getInteractInfo()),
+                List.of(AccessTokenResponse.from(accessToken)));
+
+        // Act
+        String dto = objectMapper.writeValueAsString(response);
+        String entity = objectMapper.writeValueAsString(grant);
+
+        // Assert
+        assertEquals(objectMapper.readTree(entity), objectMapper.readTree(dto));
+        assertTrue(dto.contains("\"wait\":5"));
+    }
+
+    @Test
+    void from_introspectedToken_shouldSerializeLikeTheTokenEntity() throws Exception {
+        // Arrange
+        AccessToken accessToken = new AccessToken();
+        accessToken.setParameters(Map.of("active", false));
+
+        // Act
+        String dto = objectMapper.writeValueAsString(AccessTokenResponse.from(accessToken));
+        String entity = objectMapper.writeValueAsString(accessToken);
+
+        // Assert
+        assertEquals(objectMapper.readTree(entity), objectMapper.readTree(dto));
+        assertEquals("{\"parameters\":{\"active\":false}}", dto);
+    }
+}
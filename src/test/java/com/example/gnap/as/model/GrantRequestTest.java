@@ -0,0 +1,94 @@
+package com.example.gnap.as.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GrantRequest class.
+ */
+class GrantRequestTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final Validator validator = validatorFactory.getValidator();
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_boundedRequest_shouldPass() {
+        // Arrange
+        GrantRequest request = grantRequest(List.of("read", "write"), 1);
+
+        // Act
+        Set<ConstraintViolation<GrantRequest>> violations = validator.validate(request);
+
+        // Assert
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void validate_oversizedRequest_shouldReportNestedViolations() {
+        // Arrange
+        GrantRequest tooManyTokens = grantRequest(List.of("read"), 17);
+        GrantRequest tooManyActions = grantRequest(Collections.nCopies(33, "read"), 1);
+        GrantRequest tooLongAction = grantRequest(List.of("x".repeat(257)), 1);
+
+        // Act
+        Set<ConstraintViolation<GrantRequest>> tokens = validator.validate(tooManyTokens);
+        Set<ConstraintViolation<GrantRequest>> actions = validator.validate(tooManyActions);
+        Set<ConstraintViolation<GrantRequest>> action = validator.validate(tooLongAction);
+
+        // Assert
+        assertEquals("accessTokenList", tokens.iterator().next().getPropertyPath().toString());
+        assertEquals("accessTokenList[0].access[0].actions", actions.iterator().next().getPropertyPath().toString());
+        assertEquals("accessTokenList[0].access[0].actions[0].<list element>",
+                action.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void deserialize_clientObject_shouldBindOnlyClientInfoFields() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        String json = """
+                {"client": {"id": "0190a3b4-0000-7000-8000-000000000001", "kid": "k1",
+                            "key_jwk": "{}", "display_name": "Someone else", "key": {"proof": "jwsd"}}}
+                """;
+
+        // Act
+        GrantRequest request = objectMapper.readValue(json, GrantRequest.class);
+        Client client = request.getClientInfo().toClient();
+
+        // Assert
+        assertNull(request.getClient());
+        assertEquals("k1", client.getKeyId());
+        assertEquals("jwsd", client.getKey().get("proof"));
+        assertNull(client.getId());
+        assertNull(client.getKeyJwk());
+        assertNull(client.getDisplayName());
+    }
+
+    private static GrantRequest grantRequest(List<String> actions, int accessTokens) {
+        Resource resource = new Resource();
+        resource.setType("photo-api");
+        resource.setActionsList(actions);
+        AccessToken accessToken = new AccessToken();
+        accessToken.setAccess(List.of(resource));
+        GrantRequest request = new GrantRequest();
+        request.setAccessTokenList(Collections.nCopies(accessTokens, accessToken));
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.gnap.as.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the UuidV7Generator class.
+ */
+class UuidV7GeneratorTest {
+
+    @Test
+    void nextUuid_shouldProduceVersion7WithRfcVariant() {
+        // Act
+        UUID uuid = UuidV7Generator.nextUuid();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void nextUuid_shouldEmbedCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.nextUuid();
+
+        // Assert
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void nextUuid_shouldBeUniqueAndMonotonic() {
+        // Arrange
+        List<UUID> uuids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7Generator.nextUuid());
+        }
+
+        // Assert
+        Set<UUID> unique = new HashSet<>(uuids);
+        assertEquals(uuids.size(), unique.size());
+        for (int i = 1; i < uuids.size(); i++) {
+            long previous = uuids.get(i - 1).getMostSignificantBits();
+            long current = uuids.get(i).getMostSignificantBits();
+            assertTrue(Long.compareUnsigned(previous, current) < 0, "UUIDs must be strictly increasing");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.gnap.as.repository;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GrantRequestRepository and the array-backed access definition columns.
+ */
+@DataJpaTest
+class GrantRequestRepositoryTest {
+
+    @Autowired
+    private GrantRequestRepository grantRequestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID grantId;
+
+    @BeforeEach
+    void setUp() {
+        GrantRequest grant = new GrantRequest();
+        grant.setStatus(GrantRequest.GrantStatus.PENDING);
+        grant.setExpiresAt(LocalDateTime.now().plusHours(1));
+
+        AccessDefinition accessDefinition = new AccessDefinition("photo-api", "photos",
+                List.of("write", "read"), List.of("https://server.example.net/a,b"), null);
+        entityManager.persist(accessDefinition);
+
+        Resource resource = new Resource();
+        resource.setAccessDefinition(accessDefinition);
+        grant.addResource(resource);
+
+        grantId = grantRequestRepository.saveAndFlush(grant).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    void findById_shouldLoadCanonicalAccessArraysAsImmutableLists() {
+        // Act
+        GrantRequest grant = grantRequestRepository.findById(grantId).orElseThrow();
+        Resource resource = grant.getResources().iterator().next();
+
+        // Assert
+        assertEquals("photo-api", resource.getType());
+        assertEquals(List.of("read", "write"), resource.getActionsList());
+        assertEquals(List.of("https://server.example.net/a,b"), resource.getLocationsList());
+        assertNull(resource.getDataTypesList());
+        assertThrows(UnsupportedOperationException.class, () -> resource.getActionsList().add("delete"));
+    }
+
+    @Test
+    void findByResourceAction_shouldReturnGrantsRequestingTheAction() {
+        // Act
+        List<GrantRequest> writers = grantRequestRepository.findByResourceAction("write");
+        List<GrantRequest> deleters = grantRequestRepository.findByResourceAction("delete");
+
+        // Assert
+        assertEquals(1, writers.size());
+        assertEquals(grantId, writers.getFirst().getId());
+        assertTrue(deleters.isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.gnap.as.repository;
+
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the InteractionRepository user code insert.
+ * Runs against H2 in PostgreSQL mode, which the native insert relies on.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:interaction;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InteractionRepositoryTest {
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private GrantRequest grant;
+
+    @BeforeEach
+    void setUp() {
+        grant = new GrantRequest();
+        grant.setStatus(GrantRequest.GrantStatus.PENDING);
+        grant.setExpiresAt(LocalDateTime.now().plusHours(1));
+        entityManager.persist(grant);
+    }
+
+    @Test
+    void insertUserCodeIfAbsent_withHeldCode_shouldInsertNothing() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+
+        // Act
+        int first = interactionRepository.insertUserCodeIfAbsent(UUID.randomUUID(), grant.getId(),
+                "https://auth.example.com/gnap/interact/user-code", "sha-256", "BCDFGHJK", expiresAt);
+        int second = interactionRepository.insertUserCodeIfAbsent(UUID.randomUUID(), grant.getId(),
+                "https://auth.example.com/gnap/interact/user-code", null, "BCDFGHJK", expiresAt);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        Interaction stored = interactionRepository.findByCode("BCDFGHJK").orElseThrow();
+        assertEquals(Interaction.InteractionType.USER_CODE, stored.getInteractionType());
+        assertEquals("sha-256", stored.getHashMethod());
+        assertSame(grant, stored.getGrant());
+        assertNotNull(stored.getCreatedAt());
+        assertEquals(1, interactionRepository.count());
+    }
+}
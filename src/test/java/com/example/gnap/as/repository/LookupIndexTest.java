@@ -0,0 +1,169 @@
+package com.example.gnap.as.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the hot repository lookups are served by an index rather than a table scan.
+ * Seeds a dataset, then runs EXPLAIN for the SQL equivalent of each repository method.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LookupIndexTest {
+
+    private static final int CLIENTS = 200;
+    private static final int GRANTS_PER_CLIENT = 5;
+
+    /**
+     * H2 also indexes foreign key columns implicitly, so lookups that lead with a foreign key
+     * only have to avoid a table scan rather than hit a specific index.
+     */
+    private static final String ANY_INDEX = null;
+
+    private static final UUID CLIENT_ID = new UUID(0L, 1L);
+    private static final UUID USER_ID = new UUID(0L, 2L);
+    private static final UUID GRANT_ID = new UUID(0L, 3L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp created = Timestamp.valueOf(now);
+
+        List<Object[]> clients = new ArrayList<>();
+        List<Object[]> clientInformation = new ArrayList<>();
+        List<Object[]> grants = new ArrayList<>();
+        List<Object[]> tokens = new ArrayList<>();
+        List<Object[]> interactions = new ArrayList<>();
+        List<Object[]> resources = new ArrayList<>();
+        List<Object[]> accessDefinitions = new ArrayList<>();
+        List<UUID> accessDefinitionIds = new ArrayList<>();
+
+        for (int g = 0; g < GRANTS_PER_CLIENT; g++) {
+            UUID accessDefinitionId = UUID.randomUUID();
+            accessDefinitionIds.add(accessDefinitionId);
+            accessDefinitions.add(new Object[]{accessDefinitionId, "hash-" + g, "api-" + g, "rs-" + g, created});
+        }
+
+        for (int c = 0; c < CLIENTS; c++) {
+            UUID clientId = c == 0 ? CLIENT_ID : UUID.randomUUID();
+            clients.add(new Object[]{clientId, UUID.randomUUID(), "kid-" + c, created, created});
+            clientInformation.add(new Object[]{UUID.randomUUID(), clientId, "Client " + c, created, created});
+
+            for (int g = 0; g < GRANTS_PER_CLIENT; g++) {
+                UUID grantId = c == 0 && g == 0 ? GRANT_ID : UUID.randomUUID();
+                UUID userId = c == 0 ? USER_ID : (g % 2 == 0 ? UUID.randomUUID() : null);
+                Timestamp expiresAt = Timestamp.valueOf(now.plusHours(1 + g));
+                grants.add(new Object[]{grantId, clientId, "PENDING", userId, expiresAt, created, created});
+                tokens.add(new Object[]{UUID.randomUUID(), grantId, "token-" + c + "-" + g, "rs-" + g, expiresAt, created, created});
+                interactions.add(new Object[]{UUID.randomUUID(), grantId, "REDIRECT", expiresAt, created, created});
+                resources.add(new Object[]{UUID.randomUUID(), grantId, accessDefinitionIds.get(g), created, created});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO client (id, instance_id, key_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO client_information (id, client_id, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", clientInformation);
+        jdbcTemplate.batchUpdate("INSERT INTO grant_request (id, client_id, status, user_id, expires_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", grants);
+        jdbcTemplate.batchUpdate("INSERT INTO access_token (id, grant_id, token_value, access_type, resource_server, expires_at, created_at, updated_at) VALUES (?, ?, ?, 'bearer', ?, ?, ?, ?)", tokens);
+        jdbcTemplate.batchUpdate("INSERT INTO interaction (id, grant_id, interaction_type, expires_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", interactions);
+        jdbcTemplate.batchUpdate("INSERT INTO access_definition (id, hash, type, resource_server, created_at) VALUES (?, ?, ?, ?, ?)", accessDefinitions);
+        jdbcTemplate.batchUpdate("INSERT INTO resource (id, grant_id, access_definition_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", resources);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (String table : List.of("resource", "access_definition", "interaction", "access_token", "grant_request", "client_information", "client")) {
+            jdbcTemplate.execute("DELETE FROM " + table);
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("ClientRepository.findByKeyId",
+                        "SELECT * FROM client WHERE key_id = 'kid-7'",
+                        "idx_client_key_id"),
+                Arguments.of("ClientRepository.findByInstanceId",
+                        "SELECT * FROM client WHERE instance_id = '" + UUID.randomUUID() + "'",
+                        "idx_client_instance_id"),
+                Arguments.of("ClientInformationRepository.findByClientId",
+                        "SELECT * FROM client_information WHERE client_id = '" + CLIENT_ID + "'",
+                        "idx_client_information_client_id"),
+                Arguments.of("GrantRequestRepository.findByClientId",
+                        "SELECT * FROM grant_request WHERE client_id = '" + CLIENT_ID + "'",
+                        ANY_INDEX),
+                Arguments.of("GrantRequestRepository.findByUserId",
+                        "SELECT * FROM grant_request WHERE user_id = '" + USER_ID + "'",
+                        "idx_grant_request_user_id"),
+                Arguments.of("GrantRequestRepository.findActiveGrantsByClientIdAndUserId",
+                        "SELECT * FROM grant_request WHERE client_id = '" + CLIENT_ID + "' AND user_id = '" + USER_ID
+                                + "' AND status IN ('PENDING', 'APPROVED')",
+                        "idx_grant_request_client_user_status"),
+                Arguments.of("GrantRequestRepository.findByExpiresAtBeforeAndStatusNot",
+                        "SELECT * FROM grant_request WHERE expires_at < CURRENT_TIMESTAMP AND status <> 'EXPIRED'",
+                        "idx_grant_request_expires_at"),
+                Arguments.of("AccessTokenRepository.findByTokenValue",
+                        "SELECT * FROM access_token WHERE token_value = 'token-7-1'",
+                        "idx_access_token_token_value"),
+                Arguments.of("AccessTokenRepository.findByGrantId",
+                        "SELECT * FROM access_token WHERE grant_id = '" + GRANT_ID + "'",
+                        "idx_access_token_grant_id"),
+                Arguments.of("AccessTokenRepository.findByExpiresAtBefore",
+                        "SELECT * FROM access_token WHERE expires_at < CURRENT_TIMESTAMP",
+                        "idx_access_token_expires_at"),
+                Arguments.of("InteractionRepository.findByGrantId",
+                        "SELECT * FROM interaction WHERE grant_id = '" + GRANT_ID + "'",
+                        ANY_INDEX),
+                Arguments.of("InteractionRepository.findByGrantIdAndExpiresAtAfter",
+                        "SELECT * FROM interaction WHERE grant_id = '" + GRANT_ID + "' AND expires_at > CURRENT_TIMESTAMP",
+                        "idx_interaction_grant_expires"),
+                Arguments.of("InteractionRepository.findByExpiresAtBefore",
+                        "SELECT * FROM interaction WHERE expires_at < CURRENT_TIMESTAMP",
+                        "idx_interaction_expires_at"),
+                Arguments.of("InteractionRepository.findByCodeAndExpiresAtAfter",
+                        "SELECT * FROM interaction WHERE user_code = 'BCDFGHJK' AND expires_at > CURRENT_TIMESTAMP",
+                        "idx_interaction_user_code"),
+                Arguments.of("InteractionRepository.findByCode",
+                        "SELECT * FROM interaction WHERE user_code = 'BCDFGHJK'",
+                        "idx_interaction_user_code"),
+                Arguments.of("ResourceRepository.findByGrantId",
+                        "SELECT * FROM resource WHERE grant_id = '" + GRANT_ID + "'",
+                        ANY_INDEX),
+                Arguments.of("AccessDefinitionRepository.findByHash",
+                        "SELECT * FROM access_definition WHERE hash = 'hash-1'",
+                        "uk_access_definition_hash")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQuery_shouldUseIndex(String repositoryMethod, String sql, String expectedIndex) {
+        // Act
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        // Assert
+        assertNotNull(plan);
+        assertFalse(plan.contains("tableScan"), repositoryMethod + " regressed to a table scan: " + plan);
+        if (expectedIndex != null) {
+            assertTrue(plan.toLowerCase().contains(expectedIndex), repositoryMethod + " did not use " + expectedIndex + ": " + plan);
+        }
+    }
+}
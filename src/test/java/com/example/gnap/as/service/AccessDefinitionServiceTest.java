@@ -0,0 +1,62 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.repository.AccessDefinitionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AccessDefinitionService class.
+ * Runs against H2 in PostgreSQL mode, which the native insert relies on.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:accessdefinition;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AccessDefinitionService.class)
+class AccessDefinitionServiceTest {
+
+    @Autowired
+    private AccessDefinitionService accessDefinitionService;
+
+    @Autowired
+    private AccessDefinitionRepository accessDefinitionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void intern_withSameShape_shouldReuseDefinition() {
+        // Act
+        AccessDefinition first = accessDefinitionService.intern("photo-api", "photos",
+                List.of("write", "read"), null, null);
+        AccessDefinition second = accessDefinitionService.intern("photo-api", "photos",
+                List.of("read", "write", "read"), List.of(), null);
+
+        // Assert
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, accessDefinitionRepository.count());
+    }
+
+    @Test
+    void intern_withNewShape_shouldStoreCanonicalDefinition() {
+        // Act
+        AccessDefinition definition = accessDefinitionService.intern("photo-api", null,
+                List.of("write", "read"), null, null);
+        entityManager.clear();
+
+        // Assert
+        AccessDefinition stored = accessDefinitionRepository.findById(definition.getId()).orElseThrow();
+        assertEquals(definition.getHash(), stored.getHash());
+        assertNull(stored.getResourceServer());
+        assertEquals(List.of("read", "write"), stored.getActions());
+        assertNull(stored.getLocations());
+        assertNull(stored.getDataTypes());
+    }
+}
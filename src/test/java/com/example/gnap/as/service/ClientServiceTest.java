@@ -7,8 +7,12 @@ import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
 import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -85,6 +89,40 @@ class ClientServiceTest {
         verify(clientRepository).findByKeyId(testClient.getKeyId());
     }
 
+    @Test
+    void authenticateClient_withValidEd25519Signature_shouldReturnTrue() throws Exception {
+        // Arrange
+        OctetKeyPair okpJWK = new OctetKeyPairGenerator(Curve.Ed25519)
+                .keyID(UUID.randomUUID().toString())
+                .generate();
+
+        Client okpClient = new Client();
+        okpClient.setId(UUID.randomUUID());
+        okpClient.setKeyId(okpJWK.getKeyID());
+        okpClient.setKeyJwk(okpJWK.toPublicJWK().toString());
+
+        when(clientRepository.findByKeyId(okpClient.getKeyId())).thenReturn(Optional.of(okpClient));
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("client")
+                .issuer("test")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 60 * 1000))
+                .build();
+
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.EdDSA).keyID(okpJWK.getKeyID()).build(),
+                claims);
+        signedJWT.sign(new Ed25519Signer(okpJWK));
+
+        // Act
+        boolean result = clientService.authenticateClient(okpClient, signedJWT.serialize());
+
+        // Assert
+        assertTrue(result);
+        verify(clientRepository).findByKeyId(okpClient.getKeyId());
+    }
+
     @Test
     void authenticateClient_withInvalidKeyId_shouldReturnFalse() {
         // Arrange
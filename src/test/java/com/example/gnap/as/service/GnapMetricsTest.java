@@ -0,0 +1,75 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.Resource;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GnapMetrics class.
+ */
+class GnapMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GnapMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new GnapMetrics(meterRegistry);
+    }
+
+    @Test
+    void stage_shouldRecordOutcomePerStage() {
+        // Arrange
+        Tags tags = Tags.of("key_type", "EC", "resource_servers", "1");
+
+        // Act
+        String result = metrics.stage(GnapMetrics.STAGE_CLIENT_REGISTRATION, tags, () -> "registered");
+        assertThrows(IllegalArgumentException.class, () -> metrics.stage(GnapMetrics.STAGE_CLIENT_AUTHENTICATION, tags, () -> {
+            throw new IllegalArgumentException("Client authentication failed");
+        }));
+
+        // Assert
+        assertEquals("registered", result);
+        Timer registration = meterRegistry.find(GnapMetrics.GRANT_STAGE)
+                .tags(tags).tag("stage", GnapMetrics.STAGE_CLIENT_REGISTRATION).tag("outcome", "success").timer();
+        Timer authentication = meterRegistry.find(GnapMetrics.GRANT_STAGE)
+                .tags(tags).tag("stage", GnapMetrics.STAGE_CLIENT_AUTHENTICATION).tag("outcome", "rejected").timer();
+        assertNotNull(registration);
+        assertNotNull(authentication);
+        assertEquals(1, registration.count());
+        assertEquals(1, authentication.count());
+    }
+
+    @Test
+    void grantTags_shouldTagKeyTypeAndBucketedResourceServerCount() {
+        // Arrange
+        Client client = new Client();
+        client.setKey(Map.of("proof", "jwsd", "jwk", Map.of("kty", "OKP", "crv", "Ed25519")));
+        List<Resource> resources = List.of(
+                resource("rs-1"), resource("rs-2"), resource("rs-3"), resource("rs-3"), resource(null));
+
+        // Act
+        Tags tags = GnapMetrics.grantTags(client, resources);
+
+        // Assert
+        assertEquals(Tags.of("key_type", "OKP", "resource_servers", "3-5"), tags);
+        assertEquals(Tags.of("key_type", "none", "resource_servers", "0"), GnapMetrics.grantTags(null, List.of()));
+    }
+
+    private static Resource resource(String resourceServer) {
+        Resource resource = new Resource();
+        resource.setAccessDefinition(new AccessDefinition("api", resourceServer, List.of("read"), null, null));
+        return resource;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Interaction;
+import com.example.gnap.as.repository.InteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the InteractionService class.
+ */
+class InteractionServiceTest {
+
+    @Mock
+    private InteractionRepository interactionRepository;
+
+    private UserCodeAllocator userCodeAllocator;
+    private InteractionService interactionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userCodeAllocator = new UserCodeAllocator(interactionRepository, 8);
+        interactionService = new InteractionService(interactionRepository, userCodeAllocator);
+    }
+
+    @Test
+    void createInteractions_userCode_shouldPersistFreeCode() {
+        // Arrange
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        GrantRequest.InteractInfo interactInfo = new GrantRequest.InteractInfo();
+        interactInfo.setUserCode(new Interaction.UserCode());
+        when(interactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(interactionRepository.insertUserCodeIfAbsent(any(UUID.class), eq(grant.getId()), anyString(), isNull(),
+                anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(interactionRepository.findByCode(anyString())).thenAnswer(invocation -> storedInteraction(invocation.getArgument(0)));
+
+        // Act
+        List<Interaction> interactions = interactionService.createInteractions(interactInfo, grant);
+        GrantRequest.InteractInfo response = interactionService.buildInteractResponse(interactions);
+
+        // Assert
+        String code = interactions.getFirst().getCode();
+        assertEquals(8, code.length());
+        assertTrue(code.chars().allMatch(c -> UserCodeAllocator.ALPHABET.indexOf(c) >= 0));
+        assertEquals(code.substring(0, 4) + "-" + code.substring(4), response.getUserCode().getCode());
+        assertTrue(response.getUserCode().getUri().endsWith("/gnap/interact/user-code"));
+        assertEquals(1, userCodeAllocator.size());
+    }
+
+    @Test
+    void createInteractions_userCodeHeldByAnotherInstance_shouldDrawAnotherCode() {
+        // Arrange
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        GrantRequest.InteractInfo interactInfo = new GrantRequest.InteractInfo();
+        interactInfo.setUserCode(new Interaction.UserCode());
+        when(interactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(interactionRepository.insertUserCodeIfAbsent(any(UUID.class), eq(grant.getId()), anyString(), isNull(),
+                anyString(), any(LocalDateTime.class))).thenReturn(0, 1);
+        when(interactionRepository.findByCode(anyString())).thenAnswer(invocation -> storedInteraction(invocation.getArgument(0)));
+
+        // Act
+        List<Interaction> interactions = interactionService.createInteractions(interactInfo, grant);
+
+        // Assert
+        ArgumentCaptor<String> codes = ArgumentCaptor.forClass(String.class);
+        verify(interactionRepository, times(2)).insertUserCodeIfAbsent(any(UUID.class), eq(grant.getId()),
+                anyString(), isNull(), codes.capture(), any(LocalDateTime.class));
+        assertNotEquals(codes.getAllValues().get(0), codes.getAllValues().get(1));
+        assertEquals(codes.getAllValues().get(1), interactions.getFirst().getCode());
+        // The code held elsewhere stays taken here
+        assertEquals(2, userCodeAllocator.size());
+    }
+
+    @Test
+    void findByUserCode_shouldNormalizeEnteredCode() {
+        // Arrange
+        Interaction interaction = new Interaction();
+        interaction.setCode("BCDFGHJK");
+        when(interactionRepository.findByCodeAndExpiresAtAfter(eq("BCDFGHJK"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(interaction));
+
+        // Act
+        Optional<Interaction> entered = interactionService.findByUserCode(" bcdf-ghjk ");
+        Optional<Interaction> tooShort = interactionService.findByUserCode("BCDF");
+
+        // Assert
+        assertSame(interaction, entered.orElseThrow());
+        assertTrue(tooShort.isEmpty());
+        verify(interactionRepository, times(1)).findByCodeAndExpiresAtAfter(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void releaseUserCodes_shouldClearAndRecycleCodes() {
+        // Arrange
+        UUID grantId = UUID.randomUUID();
+        Interaction interaction = new Interaction();
+        interaction.setCode(userCodeAllocator.allocate());
+        when(interactionRepository.findByGrantId(grantId)).thenReturn(List.of(interaction));
+
+        // Act
+        interactionService.releaseUserCodes(grantId);
+
+        // Assert
+        assertNull(interaction.getCode());
+        assertEquals(0, userCodeAllocator.size());
+    }
+
+    @Test
+    void cleanupExpiredInteractions_shouldRecycleCodes() {
+        // Arrange
+        Interaction interaction = new Interaction();
+        interaction.setCode(userCodeAllocator.allocate());
+        when(interactionRepository.findByExpiresAtBefore(any(LocalDateTime.class))).thenReturn(List.of(interaction));
+
+        // Act
+        int deleted = interactionService.cleanupExpiredInteractions();
+
+        // Assert
+        assertEquals(1, deleted);
+        assertEquals(0, userCodeAllocator.size());
+        verify(interactionRepository).deleteAll(List.of(interaction));
+    }
+
+    private static Optional<Interaction> storedInteraction(String code) {
+        Interaction interaction = new Interaction();
+        interaction.setInteractionType(Interaction.InteractionType.USER_CODE);
+        interaction.setInteractionUrl("https://auth.example.com/gnap/interact/user-code");
+        interaction.setCode(code);
+        return Optional.of(interaction);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.gnap.as.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LongHashSet class.
+ */
+class LongHashSetTest {
+
+    @Test
+    void add_shouldRejectDuplicatesAndGrow() {
+        // Arrange
+        LongHashSet set = new LongHashSet();
+
+        // Act
+        for (long value = 0; value < 10_000; value++) {
+            assertTrue(set.add(value));
+        }
+
+        // Assert
+        assertEquals(10_000, set.size());
+        assertFalse(set.add(42));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(9_999));
+        assertFalse(set.contains(10_000));
+    }
+
+    @Test
+    void remove_shouldKeepProbeRunsReachable() {
+        // Arrange
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 5_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void add_withNegativeValue_shouldThrowException() {
+        // Arrange
+        LongHashSet set = new LongHashSet();
+
+        // Act
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("-1"));
+        assertFalse(set.remove(-1));
+        assertEquals(0, set.size());
+    }
+}
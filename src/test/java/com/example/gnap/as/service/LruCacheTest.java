@@ -0,0 +1,60 @@
+package com.example.gnap.as.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LruCache class.
+ */
+class LruCacheTest {
+
+    @Test
+    void putIfAbsent_whenFull_shouldEvictLeastRecentlyUsedEntry() {
+        // Arrange
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.putIfAbsent("a", 1);
+        cache.putIfAbsent("b", 2);
+        cache.get("a");
+
+        // Act
+        cache.putIfAbsent("c", 3);
+
+        // Assert
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void putIfAbsent_afterWarmUp_shouldKeepAcceptingNewEntries() {
+        // Arrange
+        LruCache<Integer, Integer> cache = new LruCache<>(1000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.putIfAbsent(i, i);
+        }
+
+        // Act
+        Integer cached = cache.putIfAbsent(-1, -1);
+
+        // Assert
+        assertEquals(-1, cached);
+        assertEquals(-1, cache.get(-1));
+        assertTrue(cache.size() <= 1000);
+    }
+
+    @Test
+    void putIfAbsent_withCachedKey_shouldKeepExistingValue() {
+        // Arrange
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.putIfAbsent("a", 1);
+
+        // Act
+        Integer cached = cache.putIfAbsent("a", 2);
+
+        // Assert
+        assertEquals(1, cached);
+        assertEquals(1, cache.get("a"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.dto.GrantResponse;
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import com.example.gnap.as.repository.ReactiveReadRepository;
+import com.example.gnap.as.repository.ReactiveReadRepository.AccessDefinitionRow;
+import com.example.gnap.as.repository.ReactiveReadRepository.GrantRow;
+import com.example.gnap.as.repository.ReactiveReadRepository.TokenRow;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the ReactiveReadService class.
+ */
+class ReactiveReadServiceTest {
+
+    @Mock
+    private ReactiveReadRepository repository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private InteractionService interactionService;
+
+    @Mock
+    private GrantService grantService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveReadService reactiveReadService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        reactiveReadService = new ReactiveReadService(repository, tokenService, interactionService, grantService,
+                new GnapMetrics(meterRegistry), 100);
+    }
+
+    @Test
+    void introspectToken_unknownToken_shouldReturnInactive() {
+        // Arrange
+        when(repository.findTokenByValue("unknown")).thenReturn(Mono.empty());
+
+        // Act
+        AccessToken result = reactiveReadService.introspectToken("unknown").block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(false, result.getParameters().get("active"));
+        assertNull(result.getTokenValue());
+    }
+
+    @Test
+    void introspectToken_activeToken_shouldFilterByResourceServerAndCacheDefinitions() {
+        // Arrange
+        UUID grantId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        UUID apiId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        TokenRow row = new TokenRow("token-1", "rs-api", now.plusHours(1), now, grantId, clientId);
+        when(repository.findTokenByValue("token-1")).thenReturn(Mono.just(row));
+        when(repository.findAccessDefinitionIdsByGrantId(grantId)).thenAnswer(invocation -> Flux.just(apiId, otherId));
+        when(repository.findAccessDefinitionsByIds(anyCollection())).thenReturn(Flux.just(
+                new AccessDefinitionRow(apiId, new AccessDefinition("api", "rs-api", List.of("read"), null, null)),
+                new AccessDefinitionRow(otherId, new AccessDefinition("api", "rs-other", List.of("read"), null, null))));
+
+        // Act
+        AccessToken first = reactiveReadService.introspectToken("token-1").block();
+        AccessToken second = reactiveReadService.introspectToken("token-1").block();
+
+        // Assert
+        assertNotNull(first);
+        assertEquals(true, first.getParameters().get("active"));
+        assertEquals(grantId, first.getParameters().get("grant_id"));
+        assertEquals(clientId, first.getParameters().get("client_id"));
+        assertEquals(List.of("rs-api"), first.getAccess().stream().map(Resource::getResourceServer).toList());
+        assertNotNull(second);
+        assertEquals(1, second.getAccess().size());
+        verify(repository, times(1)).findAccessDefinitionsByIds(anyCollection());
+    }
+
+    @Test
+    void processContinuation_pendingGrant_shouldRespondWithoutBlockingService() {
+        // Arrange
+        UUID grantId = UUID.randomUUID();
+        when(tokenService.validateContinuationToken(grantId, "continue-1")).thenReturn(true);
+        when(tokenService.generateContinuationToken(any(GrantRequest.class))).thenReturn("continue-2");
+        when(repository.findGrantById(grantId)).thenReturn(Mono.just(
+                new GrantRow(grantId, GrantRequest.GrantStatus.PENDING, LocalDateTime.now().plusMinutes(10))));
+        when(repository.findInteractionsByGrant(any(GrantRequest.class))).thenReturn(Flux.empty());
+
+        // Act
+        GrantResponse result = reactiveReadService.processContinuation(grantId, "continue-1").block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(grantId, result.instanceId());
+        assertEquals("/gnap/grant/" + grantId, result.continueInfo().uri());
+        assertEquals("continue-2", result.continueInfo().accessToken());
+        verifyNoInteractions(grantService);
+        Timer timer = meterRegistry.find(GnapMetrics.GRANT_CONTINUATION).tag("outcome", "success").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void processContinuation_invalidToken_shouldFailWithoutQuerying() {
+        // Arrange
+        UUID grantId = UUID.randomUUID();
+        when(tokenService.validateContinuationToken(grantId, "forged")).thenReturn(false);
+
+        // Act
+        Mono<GrantResponse> result = reactiveReadService.processContinuation(grantId, "forged");
+
+        // Assert
+        assertSame(GnapException.INVALID_CONTINUATION_TOKEN, assertThrows(GnapException.class, result::block));
+        verifyNoInteractions(repository);
+    }
+}
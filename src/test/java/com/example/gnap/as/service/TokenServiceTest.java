@@ -0,0 +1,177 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.model.AccessDefinition;
+import com.example.gnap.as.model.AccessToken;
+import com.example.gnap.as.model.Client;
+import com.example.gnap.as.model.GrantRequest;
+import com.example.gnap.as.model.Resource;
+import com.example.gnap.as.repository.AccessTokenRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the TokenService class.
+ */
+class TokenServiceTest {
+
+    @Mock
+    private AccessTokenRepository accessTokenRepository;
+
+    private AccessClaimCache accessClaimCache;
+    private TokenService tokenService;
+    private SecretKey jwtKey;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper();
+        accessClaimCache = new AccessClaimCache(objectMapper, 100);
+        jwtKey = Jwts.SIG.HS256.key().build();
+        tokenService = new TokenService(accessTokenRepository, accessClaimCache, objectMapper, jwtKey, null);
+        ReflectionTestUtils.setField(tokenService, "tokenLifetime", 3600);
+        ReflectionTestUtils.setField(tokenService, "issuer", "https://auth.example.com");
+
+        when(accessTokenRepository.save(any(AccessToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void generateAccessTokens_shouldMintJwtWithAccessClaim() {
+        // Arrange
+        GrantRequest grant = grant(
+                new AccessDefinition("photo-api", "photos", List.of("write", "read"), List.of("https://photos.example.com/"), null),
+                new AccessDefinition("album-api", "photos", List.of("read"), null, List.of("metadata")));
+
+        // Act
+        List<AccessToken> accessTokens = tokenService.generateAccessTokens(grant);
+
+        // Assert
+        assertEquals(1, accessTokens.size());
+        Claims claims = Jwts.parser()
+                .verifyWith(jwtKey)
+                .build()
+                .parseSignedClaims(accessTokens.getFirst().getTokenValue())
+                .getPayload();
+
+        assertEquals(grant.getId().toString(), claims.get("grant_id"));
+        assertEquals(grant.getClient().getId().toString(), claims.get("client_id"));
+        assertEquals(grant.getUserId().toString(), claims.getSubject());
+        assertEquals("https://auth.example.com", claims.getIssuer());
+        assertEquals(Set.of("photos"), claims.getAudience());
+        assertEquals(3600_000L, claims.getExpiration().getTime() - claims.getIssuedAt().getTime());
+
+        List<?> access = claims.get("access", List.class);
+        assertEquals(2, access.size());
+        Map<?, ?> photoAccess = access.stream()
+                .map(Map.class::cast)
+                .filter(entry -> "photo-api".equals(entry.get("type")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("read", "write"), photoAccess.get("actions"));
+        assertEquals(List.of("https://photos.example.com/"), photoAccess.get("locations"));
+        assertFalse(photoAccess.containsKey("datatypes"));
+    }
+
+    @Test
+    void validateContinuationToken_withTokenForGrant_shouldReturnTrue() {
+        // Arrange
+        GrantRequest grant = grant();
+        String token = tokenService.generateContinuationToken(grant);
+
+        // Act
+        boolean result = tokenService.validateContinuationToken(grant.getId(), token);
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void validateContinuationToken_withTokenForOtherGrant_shouldReturnFalse() {
+        // Arrange
+        String token = tokenService.generateContinuationToken(grant());
+
+        // Act
+        boolean otherGrant = tokenService.validateContinuationToken(UUID.randomUUID(), token);
+        boolean tampered = tokenService.validateContinuationToken(grant().getId(), token + "x");
+
+        // Assert
+        assertFalse(otherGrant);
+        assertFalse(tampered);
+    }
+
+    @Test
+    void accessClaim_shouldReuseSerializedClaimForSameDefinitions() {
+        // Arrange
+        AccessDefinition photos = new AccessDefinition("photo-api", "photos", List.of("read"), null, null);
+        AccessDefinition albums = new AccessDefinition("album-api", "photos", List.of("read"), null, null);
+        List<Resource> first = List.copyOf(grant(photos, albums).getResources());
+        List<Resource> second = List.copyOf(grant(albums, photos).getResources());
+
+        // Act
+        var firstClaim = accessClaimCache.accessClaim(first);
+        var secondClaim = accessClaimCache.accessClaim(second);
+
+        // Assert
+        assertSame(firstClaim, secondClaim);
+    }
+
+    @Test
+    void validateContinuationToken_withSharedSigningKey_shouldAcceptTokenFromOtherNode() {
+        // Arrange
+        String signingKey = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+        TokenService servletNode = configuredNode(signingKey);
+        TokenService reactiveNode = configuredNode(signingKey);
+        TokenService otherCluster = configuredNode("");
+        GrantRequest grant = grant();
+        String token = servletNode.generateContinuationToken(grant);
+
+        // Act
+        boolean sameKey = reactiveNode.validateContinuationToken(grant.getId(), token);
+        boolean otherKey = otherCluster.validateContinuationToken(grant.getId(), token);
+
+        // Assert
+        assertTrue(sameKey);
+        assertFalse(otherKey);
+    }
+
+    private TokenService configuredNode(String signingKey) {
+        TokenService node = new TokenService(accessTokenRepository, accessClaimCache, new ObjectMapper(), signingKey);
+        ReflectionTestUtils.setField(node, "tokenLifetime", 3600);
+        ReflectionTestUtils.setField(node, "issuer", "https://auth.example.com");
+        return node;
+    }
+
+    private static GrantRequest grant(AccessDefinition... accessDefinitions) {
+        Client client = new Client();
+        client.setId(UUID.randomUUID());
+
+        GrantRequest grant = new GrantRequest();
+        grant.setId(UUID.randomUUID());
+        grant.setClient(client);
+        grant.setUserId(UUID.randomUUID());
+
+        for (AccessDefinition accessDefinition : accessDefinitions) {
+            Resource resource = new Resource();
+            resource.setId(UUID.randomUUID());
+            resource.setAccessDefinition(accessDefinition);
+            grant.addResource(resource);
+        }
+        return grant;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.gnap.as.service;
+
+import com.example.gnap.as.repository.InteractionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the UserCodeAllocator class.
+ */
+class UserCodeAllocatorTest {
+
+    @Mock
+    private InteractionRepository interactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void allocate_shouldHandOutDistinctCodesWithoutDatabase() {
+        // Arrange
+        UserCodeAllocator allocator = new UserCodeAllocator(interactionRepository, 4);
+        Set<String> codes = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            codes.add(allocator.allocate());
+        }
+
+        // Assert
+        assertEquals(1000, codes.size());
+        assertEquals(1000, allocator.size());
+        assertTrue(codes.stream().allMatch(code -> code.length() == 4
+                && code.chars().allMatch(c -> UserCodeAllocator.ALPHABET.indexOf(c) >= 0)));
+        verifyNoInteractions(interactionRepository);
+    }
+
+    @Test
+    void rebuild_shouldTrackCodesHeldByInteractions() {
+        // Arrange
+        UserCodeAllocator allocator = new UserCodeAllocator(interactionRepository, 4);
+        List<String> held = new ArrayList<>();
+        for (char a : UserCodeAllocator.ALPHABET.toCharArray()) {
+            for (char b : UserCodeAllocator.ALPHABET.toCharArray()) {
+                for (char c : UserCodeAllocator.ALPHABET.toCharArray()) {
+                    for (char d : UserCodeAllocator.ALPHABET.toCharArray()) {
+                        held.add("" + a + b + c + d);
+                    }
+                }
+            }
+        }
+        held.add("TOOLONGCODE");
+        when(interactionRepository.findAllUserCodes()).thenReturn(held);
+
+        // Act
+        allocator.rebuild();
+        int size = allocator.size();
+        IllegalStateException exception = assertThrows(IllegalStateException.class, allocator::allocate);
+        allocator.release("BBBB");
+
+        // Assert
+        assertEquals(160_000, size);
+        assertTrue(exception.getMessage().startsWith("No free user code"));
+        assertEquals(159_999, allocator.size());
+    }
+
+    @Test
+    void release_shouldRecycleCodeOnlyAfterCommit() {
+        // Arrange
+        UserCodeAllocator allocator = new UserCodeAllocator(interactionRepository, 8);
+        String code = allocator.allocate();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        allocator.release(code);
+        int beforeCommit = allocator.size();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(1, beforeCommit);
+        assertEquals(0, allocator.size());
+    }
+
+    @Test
+    void allocate_shouldReleaseCodeOnRollback() {
+        // Arrange
+        UserCodeAllocator allocator = new UserCodeAllocator(interactionRepository, 8);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        allocator.allocate();
+        int beforeRollback = allocator.size();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(1, beforeRollback);
+        assertEquals(0, allocator.size());
+    }
+
+    @Test
+    void constructor_shouldRejectCodeLengthThatDoesNotFitALong() {
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new UserCodeAllocator(interactionRepository, 15));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("15"));
+    }
+}